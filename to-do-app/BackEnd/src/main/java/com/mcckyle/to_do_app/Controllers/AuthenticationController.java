@@ -9,10 +9,14 @@
 
 package com.mcckyle.to_do_app.Controllers;
 
+import com.mcckyle.to_do_app.Exceptions.TooManyRequestsException;
 import com.mcckyle.to_do_app.payload.*;
+import com.mcckyle.to_do_app.security.AuthRateLimiter;
+import com.mcckyle.to_do_app.security.TokenVersionRegistry;
 import com.mcckyle.to_do_app.security.UserDetailsImpl;
 import com.mcckyle.to_do_app.security.UserDetailsServiceImpl;
 import com.mcckyle.to_do_app.security.jwt.JwtUtils;
+import com.mcckyle.to_do_app.security.jwt.VerifiedToken;
 import com.mcckyle.to_do_app.Models.User;
 import com.mcckyle.to_do_app.Services.UserService;
 import jakarta.servlet.http.Cookie;
@@ -20,6 +24,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
@@ -27,15 +32,12 @@ import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 //***************************************************************************************
 
@@ -55,24 +57,31 @@ public class AuthenticationController
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    @Autowired
+    private AuthRateLimiter rateLimiter;
+
+    @Value("${app.security.stateless-auth:false}")
+    private boolean statelessAuth;
+
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationDTO userRegistrationDTO, HttpServletResponse response)
+    public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationDTO userRegistrationDTO,
+                                          HttpServletRequest request, HttpServletResponse response)
     {
+        //Throttle before hashing anything (429, see AuthRateLimiter).
+        rateLimiter.acquire(AuthRateLimiter.REGISTER, request.getRemoteAddr(), userRegistrationDTO.getEmail());
+
         try
         {
             //Register the user using UserService with the new DTO.
             User registeredUser = userService.registerUser(userRegistrationDTO);
 
             //Generate the access token immediately.
-            String accessToken = jwtUtils.generateJwtToken(
-                    registeredUser.getId(),
-                    registeredUser.getUsername(),
-                    registeredUser.getRoles().stream()
-                            .map(role -> new SimpleGrantedAuthority(role.getName()))
-                            .collect(Collectors.toSet())
-            );
-
-            String refreshToken = jwtUtils.generateRefreshToken(registeredUser.getId());
+            UserDetailsImpl userDetails = UserDetailsImpl.build(registeredUser);
+            String accessToken = jwtUtils.generateJwtToken(userDetails);
+            String refreshToken = jwtUtils.generateRefreshToken(userDetails);
 
             //Create and return the response.
             ResponseCookie cookie = ResponseCookie.from("refresh_token", refreshToken)
@@ -92,6 +101,10 @@ public class AuthenticationController
                     "email", registeredUser.getEmail()
             ));
         }
+        catch (TooManyRequestsException e)
+        {
+            throw e; //Answered with 429 by GlobalExceptionHandler.
+        }
         catch (RuntimeException e)
         {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -99,8 +112,11 @@ public class AuthenticationController
     }
 
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@RequestBody UserAuthenticationDTO authenticationDTO, HttpServletResponse response)
+    public ResponseEntity<?> authenticateUser(@RequestBody UserAuthenticationDTO authenticationDTO,
+                                              HttpServletRequest request, HttpServletResponse response)
     {
+        rateLimiter.acquire(AuthRateLimiter.SIGN_IN, request.getRemoteAddr(), authenticationDTO.getEmail());
+
         //Authenticate the User using the provided credentials from DTO.
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -113,13 +129,8 @@ public class AuthenticationController
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
         // Generate the JWT token with roles.
-        String accessToken = jwtUtils.generateJwtToken(
-                userDetails.getId(),
-                userDetails.getUsername(),
-                userDetails.getAuthorities()
-        );
-
-        String refreshToken = jwtUtils.generateRefreshToken(userDetails.getId());
+        String accessToken = jwtUtils.generateJwtToken(userDetails);
+        String refreshToken = jwtUtils.generateRefreshToken(userDetails);
 
         // Create and return the response.
         ResponseCookie cookie = ResponseCookie.from("refresh_token", refreshToken)
@@ -170,24 +181,25 @@ public class AuthenticationController
             }
 
             String token = authHeader.substring(7);
+            VerifiedToken verified = jwtUtils.decodeAccessToken(token);
 
-            if ( ! jwtUtils.validateJwtToken(token))
+            if (verified == null)
             {
                 return ResponseEntity.status(401).body(Map.of("valid", false, "error", "Invalid or expired token."));
             }
 
             // Extract userId from valid JWT instead of the username.
-            Integer userId = jwtUtils.getUserIdFromJwtToken(token);
+            Long userId = verified.userId();
 
-            if (userId == null)
+            // In stateless mode, verify the token was not revoked; otherwise that the user still exists.
+            if (statelessAuth)
             {
-                return ResponseEntity.status(401)
-                        .body(Map.of("valid", false, "error", "Invalid token: userId missing."));
+                if ( ! tokenVersions.isCurrent(userId, verified.tokenVersion()))
+                {
+                    return ResponseEntity.status(401).body(Map.of("valid", false, "error", "Session has been revoked. Please log in again."));
+                }
             }
-
-            // Verify user still exists in DB.
-            boolean userExists = userService.findById(userId).isPresent();
-            if ( ! userExists)
+            else if (userService.findById(userId).isEmpty())
             {
                 return ResponseEntity.status(404).body(Map.of("valid", false, "error", "User not found."));
             }
@@ -216,19 +228,23 @@ public class AuthenticationController
                 .findFirst()
                 .orElse(null);
 
-        if ( (refreshToken == null) || ( ! jwtUtils.validateJwtToken(refreshToken)) )
+        VerifiedToken verified = (refreshToken != null) ? jwtUtils.decodeRefreshToken(refreshToken) : null;
+
+        if (verified == null)
         {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        Integer userId = jwtUtils.getUserIdFromJwtToken(refreshToken);
-        UserDetails userDetails = userDetailsService.loadUserById(userId);
+        Long userId = verified.userId();
+        UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserById(userId);
 
-        String newAccessToken = jwtUtils.generateJwtToken(
-                userId,
-                userDetails.getUsername(),
-                userDetails.getAuthorities()
-        );
+        //In stateless mode a password change or account deletion must also retire refresh tokens.
+        if ( (statelessAuth) && (verified.tokenVersion() != userDetails.getTokenVersion()) )
+        {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String newAccessToken = jwtUtils.generateJwtToken(userDetails);
 
         return ResponseEntity.ok(Map.of("accessToken", newAccessToken));
     }
@@ -274,6 +290,10 @@ public class AuthenticationController
 
             return ResponseEntity.ok(Map.of("message", "Password updated successfully!"));
         }
+        catch (TooManyRequestsException e)
+        {
+            throw e;
+        }
         catch (Exception e)
         {
             return ResponseEntity.status(500).body(Map.of("error", "Server error: " + e.getMessage()));
@@ -0,0 +1,67 @@
+//***************************************************************************************
+//
+//     Filename: EntityTags.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file maps entity versions to ETags and back from If-Match.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Controllers;
+
+import com.mcckyle.to_do_app.Exceptions.BadRequestException;
+import com.mcckyle.to_do_app.Exceptions.PreconditionFailedException;
+
+//***************************************************************************************
+
+/**
+ * A task's or list's ETag is its {@code @Version}, quoted: {@code "3"}. The
+ * mutation endpoints send it back, and a client that sends it as
+ * {@code If-Match} only writes over the state it last saw.
+ */
+final class EntityTags
+{
+    private EntityTags()
+    {
+
+    }
+
+    static String of(Long version)
+    {
+        return "\"" + version + "\"";
+    }
+
+    //Returns the version to compare against, or null when the write is unconditional.
+    static Long parseIfMatch(String ifMatch)
+    {
+        if ( (ifMatch == null) || (ifMatch.isBlank()) || (ifMatch.trim().equals("*")) )
+        {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+
+        if (tag.startsWith("W/"))
+        {
+            //If-Match uses strong comparison, so a weak tag never matches.
+            throw new PreconditionFailedException("If-Match does not match the current version.");
+        }
+
+        if ( (tag.length() < 3) || ( ! tag.startsWith("\"")) || ( ! tag.endsWith("\"")) )
+        {
+            throw new BadRequestException("Malformed If-Match header.");
+        }
+
+        try
+        {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        }
+        catch (NumberFormatException e)
+        {
+            //Not one of ours, e.g. a collection ETag: it cannot match a task or list.
+            throw new PreconditionFailedException("If-Match does not match the current version.");
+        }
+    }
+}
+
+//***************************************************************************************
@@ -11,15 +11,28 @@ package com.mcckyle.to_do_app.Controllers;
 
 import com.mcckyle.to_do_app.Models.ToDoObj;
 import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.Services.ChangeStreamRegistry;
 import com.mcckyle.to_do_app.Services.ToDoApplicationService;
-import com.mcckyle.to_do_app.Services.UserService;
+import com.mcckyle.to_do_app.payload.TaskBatchRequest;
+import com.mcckyle.to_do_app.payload.TaskBatchResponse;
+import com.mcckyle.to_do_app.payload.TaskBulkCreateRequest;
+import com.mcckyle.to_do_app.payload.TaskBulkCreateResponse;
+import com.mcckyle.to_do_app.payload.TaskChangesResponse;
 import com.mcckyle.to_do_app.payload.TaskCreateRequest;
+import com.mcckyle.to_do_app.payload.TaskQuery;
+import com.mcckyle.to_do_app.payload.TaskResponse;
 import com.mcckyle.to_do_app.payload.TaskUpdateRequest;
-import com.mcckyle.to_do_app.security.UserDetailsImpl;
+import com.mcckyle.to_do_app.security.CurrentUser;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.LocalDateTime;
 import java.util.List;
 
 //***************************************************************************************
@@ -35,9 +48,16 @@ import java.util.List;
  * Endpoints include:
  * <ul>
  *   <li>GET /api/todos - Retrieve a list of all tasks</li>
+ *   <li>GET /api/todos/{taskListId}?after={id}&amp;limit={n} - Retrieve one page of a list's tasks</li>
+ *   <li>GET /api/todos/{taskListId}?completed=&amp;createdAfter=&amp;createdBefore=&amp;sort= - Filter and sort them</li>
+ *   <li>GET /api/todos/changes?since={cursor} - Lists and tasks created, updated or deleted since a cursor</li>
+ *   <li>GET /api/todos/stream - Server-sent events as the user's lists and tasks change</li>
  *   <li>POST /api/todos - Create a new task</li>
- *   <li>PUT /api/todos/{id} - Update an existing task</li>
+ *   <li>POST /api/todos/bulk - Create many tasks in one list</li>
+ *   <li>PUT /api/todos/{id} - Update an existing task; honors If-Match</li>
  *   <li>DELETE /api/todos/{id} - Delete a task</li>
+ *   <li>PATCH /api/todos/batch - Mark many tasks complete or incomplete</li>
+ *   <li>DELETE /api/todos/batch - Delete many tasks</li>
  * </ul>
  * </p>
  *
@@ -55,19 +75,15 @@ import java.util.List;
 @RequestMapping("/api/todos")
 public class TaskController
 {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ToDoApplicationService toDoService;
-    private final UserService userService;
+    private final ChangeStreamRegistry changeStreams;
 
-    public TaskController(ToDoApplicationService toDoService, UserService userService)
+    public TaskController(ToDoApplicationService toDoService, ChangeStreamRegistry changeStreams)
     {
         this.toDoService = toDoService;
-        this.userService = userService;
-    }
-
-    private User resolveUser(UserDetailsImpl principal)
-    {
-        return userService.findById(principal.getId())
-                .orElseThrow(() -> new RuntimeException("User not found!"));
+        this.changeStreams = changeStreams;
     }
 
     //CREATE a task.
@@ -115,11 +131,8 @@ public class TaskController
     @PostMapping
     public ResponseEntity<ToDoObj> create(
             @RequestBody TaskCreateRequest request,
-            @AuthenticationPrincipal UserDetailsImpl principal)
+            @CurrentUser User user)
     {
-        //Resolve the authenticated user ONCE.
-        User user = resolveUser(principal);
-
         //Create the new task.
         ToDoObj task = toDoService.createTask(
                 request.getDescription(),
@@ -127,38 +140,171 @@ public class TaskController
                 user
         );
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(task);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EntityTags.of(task.getVersion())).body(task);
+    }
+
+    /**
+     * Creates many tasks in one list in a single transaction.
+     *
+     * <pre>
+     * POST /api/todos/bulk
+     * { "taskListId": 1, "descriptions": ["Milk", "Eggs", "Bread"] }
+     *
+     * HTTP/1.1 201 Created
+     * { "taskListId": 1, "created": 3 }
+     * </pre>
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<TaskBulkCreateResponse> createBulk(
+            @RequestBody TaskBulkCreateRequest request,
+            @CurrentUser User user)
+    {
+        TaskBulkCreateResponse created = toDoService.createTasks(
+                request.getDescriptions(),
+                request.getTaskListId(),
+                user
+        );
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
-    //READ all tasks within a specific task list
+    //READ the tasks within a specific task list.
+    /**
+     * Returns the tasks of a task list, optionally filtered, sorted and one keyset page at a time.
+     * <p>
+     * {@code completed}, {@code createdAfter} (inclusive) and {@code createdBefore} (exclusive)
+     * narrow the result; {@code sort=createdAt|description} orders it, with ties and the
+     * default ordered by id. Without {@code after} or {@code limit} every matching task is
+     * returned. With either, at most {@code limit} tasks after the cursor {@code after} are
+     * returned; when more remain, the cursor to pass as the next {@code after} is sent in the
+     * {@value #NEXT_CURSOR_HEADER} response header. Treat it as opaque: it holds the last
+     * task's id and, for a non-id sort, its sort key, so it stays valid if that task is
+     * deleted. A cursor from a different sort is answered with 400.
+     * </p>
+     * <p>
+     * The response carries the user's change version as a strong ETag. A request whose
+     * {@code If-None-Match} still matches gets {@code 304 Not Modified} without any task
+     * being read.
+     * </p>
+     *
+     * <pre>
+     * GET /api/todos/7?completed=false&amp;sort=createdAt&amp;limit=100 -> first page, X-Next-Cursor: MjAyNi0xMC0xOFQwOTozMA:1234
+     * GET /api/todos/7?completed=false&amp;sort=createdAt&amp;limit=100&amp;after=MjAyNi0xMC0xOFQwOTozMA:1234 -> next page
+     * </pre>
+     */
     @GetMapping("/{taskListId}")
-    public ResponseEntity<List<ToDoObj>> getForList(
-            @PathVariable Integer taskListId,
-            @AuthenticationPrincipal UserDetailsImpl principal)
+    public ResponseEntity<List<TaskResponse>> getForList(
+            @PathVariable Long taskListId,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @CurrentUser User user,
+            WebRequest request)
     {
-        //Resolve the authenticated user ONCE.
-        User user = resolveUser(principal);
+        if (request.checkNotModified(toDoService.getChangeTag(user)))
+        {
+            return null; //304 Not Modified, already written.
+        }
+
+        TaskQuery query = new TaskQuery(taskListId, completed, createdAfter, createdBefore,
+                TaskQuery.Sort.fromParam(sort), after);
+
+        Slice<TaskResponse> page = toDoService.findTasks(query, limit, user);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
 
-        return ResponseEntity.ok(toDoService.getTasksForList(taskListId, user));
+        if (page.hasNext())
+        {
+            List<TaskResponse> tasks = page.getContent();
+            response.header(NEXT_CURSOR_HEADER, query.nextCursor(tasks.get(tasks.size() - 1)));
+        }
+
+        return response.body(page.getContent());
     }
 
+    /**
+     * Delta sync. Returns the lists and tasks created or updated after change version
+     * {@code since}, the ids of those deleted since, and the cursor to send next time.
+     * Without {@code since} it returns everything, which is how a client starts.
+     *
+     * <pre>
+     * GET /api/todos/changes?since=41
+     *
+     * HTTP/1.1 200 OK
+     * { "cursor": 44,
+     *   "lists": [ { "id": 7, "name": "Groceries", "taskCount": 3, "completedCount": 1, ... } ],
+     *   "tasks": [ { "id": 9, "taskListId": 7, "description": "Milk", "completed": true, ... } ],
+     *   "deletedListIds": [],
+     *   "deletedTaskIds": [ 8 ] }
+     * </pre>
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getChanges(
+            @RequestParam(required = false) Long since,
+            @CurrentUser User user)
+    {
+        return ResponseEntity.ok(toDoService.getChangesSince(since, user));
+    }
+
+    /**
+     * Pushes a {@code change} event to every open stream of the user as soon as one of
+     * their lists or tasks is written. Events name what changed, not its new state; the
+     * event id is the change version, so a client fetches
+     * {@code GET /api/todos/changes?since=<last applied>} and applies the result. A client
+     * that reconnects does the same before trusting the stream again.
+     *
+     * <pre>
+     * GET /api/todos/stream
+     * Accept: text/event-stream
+     *
+     * : connected
+     *
+     * id:45
+     * event:change
+     * data:{"version":45,"kind":"TASK","action":"UPSERTED","ids":[9]}
+     * </pre>
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@CurrentUser User user)
+    {
+        return changeStreams.open(user.getId());
+    }
+
+    /**
+     * Updates a task. The response carries the task's new version as its ETag. Sent
+     * back as {@code If-Match}, it makes the next update conditional: if anyone has
+     * changed the task since, the update is refused with {@code 412 Precondition Failed}
+     * and the client reloads instead of overwriting their change. Without {@code If-Match}
+     * the update is unconditional, and only losing a race with a concurrent write
+     * refuses it, with {@code 409 Conflict}.
+     *
+     * <pre>
+     * PUT /api/todos/9
+     * If-Match: "3"
+     * { "description": "Oat milk" }
+     *
+     * HTTP/1.1 200 OK                    or   HTTP/1.1 412 Precondition Failed
+     * ETag: "4"
+     * </pre>
+     */
     @PutMapping("/{taskId}")
     public ResponseEntity<ToDoObj> update(
-            @PathVariable Integer taskId,
+            @PathVariable Long taskId,
             @RequestBody TaskUpdateRequest request,
-            @AuthenticationPrincipal UserDetailsImpl principal)
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @CurrentUser User user)
     {
-        // Find the user by ID.
-        User user = resolveUser(principal);
-
         // Delegate the update operation to the ToDoApplicationService.
         ToDoObj updated = toDoService.updateTask(
                 taskId,
                 request,
+                EntityTags.parseIfMatch(ifMatch),
                 user
         );
 
-        return ResponseEntity.ok(updated);
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(updated);
     }
 
     /**
@@ -179,15 +325,47 @@ public class TaskController
      */
     @DeleteMapping("/{taskId}")
     public ResponseEntity<Void> delete(
-            @PathVariable Integer taskId,
-            @AuthenticationPrincipal UserDetailsImpl principal)
+            @PathVariable Long taskId,
+            @CurrentUser User user)
     {
-        //Find the user or throw an exception if not found.
-        User user = resolveUser(principal);
         toDoService.deleteTask(taskId, user);
 
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Marks many tasks complete or incomplete with one owner-scoped UPDATE.
+     *
+     * <pre>
+     * PATCH /api/todos/batch
+     * { "taskIds": [1, 2, 3], "completed": true }
+     *
+     * HTTP/1.1 200 OK
+     * { "affected": 2,
+     *   "results": [ { "id": 1, "status": "UPDATED" },
+     *                { "id": 2, "status": "UPDATED" },
+     *                { "id": 3, "status": "NOT_FOUND" } ] }
+     * </pre>
+     */
+    @PatchMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> updateBatch(
+            @RequestBody TaskBatchRequest request,
+            @CurrentUser User user)
+    {
+        return ResponseEntity.ok(toDoService.updateTasksCompleted(request.getTaskIds(), request.getCompleted(), user));
+    }
+
+    /**
+     * Deletes many tasks with one owner-scoped DELETE. The body and response have the same
+     * shape as {@code PATCH /api/todos/batch}, with {@code DELETED} outcomes.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> deleteBatch(
+            @RequestBody TaskBatchRequest request,
+            @CurrentUser User user)
+    {
+        return ResponseEntity.ok(toDoService.deleteTasks(request.getTaskIds(), user));
+    }
 }
 
 //***************************************************************************************
\ No newline at end of file
@@ -12,15 +12,16 @@ package com.mcckyle.to_do_app.Controllers;
 import com.mcckyle.to_do_app.Models.TaskList;
 import com.mcckyle.to_do_app.Models.User;
 import com.mcckyle.to_do_app.Services.ToDoApplicationService;
-import com.mcckyle.to_do_app.Services.UserService;
 import com.mcckyle.to_do_app.payload.TaskListDTO;
 import com.mcckyle.to_do_app.payload.TaskListResponse;
+import com.mcckyle.to_do_app.payload.TaskListSummary;
 import com.mcckyle.to_do_app.payload.UpdateDeletedRequest;
-import com.mcckyle.to_do_app.security.UserDetailsImpl;
+import com.mcckyle.to_do_app.security.CurrentUser;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 //***************************************************************************************
@@ -58,18 +59,10 @@ import java.util.List;
 public class TaskListController
 {
     private final ToDoApplicationService toDoService;
-    private final UserService userService;
 
-    public TaskListController(ToDoApplicationService toDoService, UserService userService)
+    public TaskListController(ToDoApplicationService toDoService)
     {
         this.toDoService = toDoService;
-        this.userService = userService;
-    }
-
-    private User resolveUser(UserDetailsImpl principal)
-    {
-        return userService.findById(principal.getId())
-                .orElseThrow(() -> new RuntimeException("User not found!"));
     }
 
     //CREATE a task list.
@@ -113,67 +106,90 @@ public class TaskListController
     @PostMapping
     public ResponseEntity<TaskListDTO> create(
             @RequestBody TaskList request,
-            @AuthenticationPrincipal UserDetailsImpl principal)
+            @CurrentUser User user)
     {
-        User user = resolveUser(principal);
         TaskList created = toDoService.createTaskList(user, request.getName());
 
         return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(EntityTags.of(created.getVersion()))
                 .body(new TaskListDTO(created, List.of()));
     }
 
     //READ all task lists.
+    //The read endpoints carry the user's change version as an ETag; a matching If-None-Match gets a 304 before any list is read.
     @GetMapping
     public ResponseEntity<List<TaskListDTO>> getAll(
-            @AuthenticationPrincipal UserDetailsImpl principal)
+            @CurrentUser User user,
+            WebRequest request)
     {
-        User user = resolveUser(principal);
+        if (request.checkNotModified(toDoService.getChangeTag(user)))
+        {
+            return null; //304 Not Modified, already written.
+        }
 
-        List<TaskListDTO> response = toDoService.getTaskListsForUser(user)
-                .stream()
-                .map(list -> new TaskListDTO(list, list.getTasks()))
-                .toList();
+        return ResponseEntity.ok(toDoService.getTaskListSummariesForUser(user));
+    }
+
+    //READ the sidebar summaries: one row per list, with task counts instead of tasks.
+    /**
+     * <pre>
+     * GET /api/todos/list/summary
+     *
+     * HTTP/1.1 200 OK
+     * [ { "id": 1, "name": "Groceries", "deleted": false, "isDefault": true,
+     *     "taskCount": 12, "completedCount": 3 } ]
+     * </pre>
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<List<TaskListSummary>> getSummaries(
+            @CurrentUser User user,
+            WebRequest request)
+    {
+        if (request.checkNotModified(toDoService.getChangeTag(user)))
+        {
+            return null;
+        }
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(toDoService.getTaskListCountSummariesForUser(user));
     }
 
     //READ The Default list.
     @GetMapping("/default")
     public ResponseEntity<TaskListDTO> getDefault(
-            @AuthenticationPrincipal UserDetailsImpl principal)
+            @CurrentUser User user,
+            WebRequest request)
     {
-        User user = resolveUser(principal);
-
-        TaskList list = toDoService.getTaskListsForUser(user)
-                .stream()
-                .filter(TaskList::isDefault)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("The Default task list was not found!"));
+        if (request.checkNotModified(toDoService.getChangeTag(user)))
+        {
+            return null;
+        }
 
-        return ResponseEntity.ok(new TaskListDTO(list, list.getTasks()));
+        return ResponseEntity.ok(toDoService.getDefaultTaskListSummary(user));
     }
 
     //UPDATE a task list.
+    //Like PUT /api/todos/{id}: the ETag is the list's version, and a stale If-Match gets a 412.
     @PutMapping("/{id}")
     public ResponseEntity<TaskListDTO> update(
-            @PathVariable Integer id,
+            @PathVariable Long id,
             @RequestBody TaskList request,
-            @AuthenticationPrincipal UserDetailsImpl principal)
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @CurrentUser User user)
     {
-        User user = resolveUser(principal);
-        TaskList updated = toDoService.updateTaskList(id, request.getName(), user);
+        TaskList updated = toDoService.updateTaskList(id, request.getName(), EntityTags.parseIfMatch(ifMatch), user);
 
-        return ResponseEntity.ok(new TaskListDTO(updated, updated.getTasks()));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updated.getVersion()))
+                .body(new TaskListDTO(updated, updated.getTasks()));
     }
 
     //UPDATE (soft-delete) a task list.
     @PatchMapping("/{id}/deleted")
     public ResponseEntity<Void> updateDeleted(
-            @PathVariable Integer id,
+            @PathVariable Long id,
             @RequestBody UpdateDeletedRequest request,
-            @AuthenticationPrincipal UserDetailsImpl principal)
+            @CurrentUser User user)
     {
-        User user = resolveUser(principal);
         toDoService.setTaskListDeleted(id, request.isDeleted(), user);
 
         return ResponseEntity.noContent().build();
@@ -182,10 +198,9 @@ public class TaskListController
     //DELETE a task list.
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(
-            @PathVariable Integer id,
-            @AuthenticationPrincipal UserDetailsImpl principal)
+            @PathVariable Long id,
+            @CurrentUser User user)
     {
-        User user = resolveUser(principal);
         toDoService.deleteTaskList(id, user);
 
         return ResponseEntity.noContent().build();
@@ -65,7 +65,7 @@ public class UserController
             }
         });
 
-        userService.findById(user.getId()); //Ensure persistence.
+        userService.saveProfile(user); //Persist and drop the cached principal.
 
         return ResponseEntity.ok(Map.of(
                 "message", "Profile updated successfully!",
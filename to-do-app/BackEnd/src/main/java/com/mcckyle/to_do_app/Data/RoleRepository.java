@@ -17,7 +17,7 @@ import org.springframework.stereotype.Repository;
 //***************************************************************************************
 
 @Repository
-public interface RoleRepository extends CrudRepository<Role, Integer>
+public interface RoleRepository extends CrudRepository<Role, Long>
 {
     Role findByName(String name); //For finding a role by its name...
 }
@@ -0,0 +1,79 @@
+//***************************************************************************************
+//
+//     Filename: TaskListCounterRepository.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file implements the task list counter updates in plain JDBC.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+
+//***************************************************************************************
+
+/**
+ * Counter maintenance for {@code task_lists}, one row-scoped statement each.
+ * <p>
+ * These used to be bulk HQL updates, and Hibernate answers any bulk HQL statement
+ * by dropping the whole second-level cache region of the entity, so every task
+ * change by any user emptied every cached list. Written here, Hibernate never sees
+ * them; callers evict just the lists they changed
+ * ({@link com.mcckyle.to_do_app.cache.SecondLevelCacheEvictor}). Pending changes
+ * in the persistence context are flushed first, as Hibernate would have done.
+ * </p>
+ */
+@Repository
+public class TaskListCounterRepository
+{
+    //A relative UPDATE, so concurrent changes to one list add up instead of overwriting each other.
+    //New counts are a change to the list as far as delta sync is concerned.
+    private static final String ADJUST_COUNTS =
+            "update task_lists set task_count = task_count + :tasks, completed_count = completed_count + :completed, " +
+            "change_version = :version where id = :id";
+
+    //Rebuilds the counters from the tasks themselves.
+    private static final String RECOUNT =
+            "update task_lists set " +
+            "task_count = (select count(*) from to_do_obj t where t.task_list_id = task_lists.id), " +
+            "completed_count = (select count(*) from to_do_obj t where t.task_list_id = task_lists.id and t.completed = true), " +
+            "change_version = :version where id in (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskListCounterRepository(NamedParameterJdbcTemplate jdbcTemplate)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int adjustCounts(Long id, int tasks, int completed, long version)
+    {
+        entityManager.flush();
+
+        return jdbcTemplate.update(ADJUST_COUNTS, new MapSqlParameterSource()
+                .addValue("tasks", tasks)
+                .addValue("completed", completed)
+                .addValue("version", version)
+                .addValue("id", id));
+    }
+
+    public int recountByIdIn(Collection<Long> ids, long version)
+    {
+        entityManager.flush();
+
+        return jdbcTemplate.update(RECOUNT, new MapSqlParameterSource()
+                .addValue("version", version)
+                .addValue("ids", ids));
+    }
+}
+
+//***************************************************************************************
@@ -11,6 +11,10 @@ package com.mcckyle.to_do_app.Data;
 
 import com.mcckyle.to_do_app.Models.TaskList;
 import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.payload.TaskListDTO;
+import com.mcckyle.to_do_app.payload.TaskListSummary;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -19,12 +23,61 @@ import java.util.Optional;
 //***************************************************************************************
 
 @Repository
-public interface TaskListRepository extends CrudRepository<TaskList, Integer>
+public interface TaskListRepository extends CrudRepository<TaskList, Long>
 {
     // Custom query to find task lists by a specific user
     List<TaskList> findByUser(User user);
-    Optional<TaskList> findDefaultByUserId(Integer userId);
+    Optional<TaskList> findDefaultByUserId(Long userId);
     Optional<TaskList> findByUserAndIsDefaultTrue(User user);
+
+    //Ownership-scoped lookup: a list that belongs to someone else is simply "not found".
+    Optional<TaskList> findByIdAndUserId(Long id, Long userId);
+
+    //Every list of a user with its tasks in one round trip, instead of one extra query per list.
+    @Query("select distinct l from TaskList l left join fetch l.tasks where l.user.id = :userId order by l.id")
+    List<TaskList> findAllWithTasksByUserId(Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    //Read-only projections: rows go straight into DTOs without entering the persistence context.
+    @Query("select new com.mcckyle.to_do_app.payload.TaskListDTO(l.id, l.name, l.deleted, l.isDefault, l.version) " +
+           "from TaskList l where l.user.id = :userId order by l.id")
+    List<TaskListDTO> findSummariesByUserId(Long userId);
+
+    @Query("select new com.mcckyle.to_do_app.payload.TaskListDTO(l.id, l.name, l.deleted, l.isDefault, l.version) " +
+           "from TaskList l where l.user.id = :userId and l.isDefault = true")
+    Optional<TaskListDTO> findDefaultSummaryByUserId(Long userId);
+
+    //One row per list straight from the counter columns; no task is read.
+    @Query("select new com.mcckyle.to_do_app.payload.TaskListSummary(l.id, l.name, l.deleted, l.isDefault, l.taskCount, l.completedCount, l.version) " +
+           "from TaskList l where l.user.id = :userId order by l.id")
+    List<TaskListSummary> findCountSummariesByUserId(Long userId);
+
+    //A list whose counters disagree with its tasks.
+    String STALE_COUNTS =
+            "(l.taskCount <> (select count(t) from ToDoObj t where t.taskList = l) " +
+            "or l.completedCount <> (select count(t) from ToDoObj t where t.taskList = l and t.completed = true))";
+
+    //Per-list counter updates are in TaskListCounterRepository. These two rebuild every stale list, so
+    //Hibernate dropping the whole cached regions for them is exactly right. Run them in this order:
+    //owners get a new change version first, and each fixed list is stamped with it for delta sync.
+    @Modifying
+    @Query("update User u set u.changeVersion = u.changeVersion + 1 " +
+           "where exists (select l from TaskList l where l.user = u and " + STALE_COUNTS + ")")
+    int bumpOwnersOfStaleCounts();
+
+    @Modifying
+    @Query("update TaskList l set " +
+           "l.taskCount = (select count(t) from ToDoObj t where t.taskList = l), " +
+           "l.completedCount = (select count(t) from ToDoObj t where t.taskList = l and t.completed = true), " +
+           "l.changeVersion = (select u.changeVersion from User u where u = l.user) " +
+           "where " + STALE_COUNTS)
+    int recountStale();
+
+    //Delta sync, served by idx_task_list_user_change_version.
+    @Query("select new com.mcckyle.to_do_app.payload.TaskListSummary(l.id, l.name, l.deleted, l.isDefault, l.taskCount, l.completedCount, l.version) " +
+           "from TaskList l where l.user.id = :userId and l.changeVersion > :since order by l.changeVersion, l.id")
+    List<TaskListSummary> findChangesSince(Long userId, long since);
 }
 
 //***************************************************************************************
\ No newline at end of file
@@ -0,0 +1,77 @@
+//***************************************************************************************
+//
+//     Filename: ToDoBulkRepository.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file implements batched JDBC inserts of task rows.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Data;
+
+import com.mcckyle.to_do_app.ids.TimeOrderedIds;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//***************************************************************************************
+
+/**
+ * Inserts many tasks through one JDBC batch.
+ * <p>
+ * This path skips the persistence context entirely: ids come from the same
+ * {@link TimeOrderedIds} generator Hibernate uses, the statements join the
+ * caller's transaction and go to the driver as batches of {@link #BATCH_SIZE}.
+ * </p>
+ * <p>
+ * With MariaDB Connector/J 3.x a batch is sent as a single bulk command when the
+ * connection URL carries {@code useBulkStmts=true}. The 2.x
+ * {@code rewriteBatchedStatements} option no longer exists in 3.x.
+ * </p>
+ */
+@Repository
+public class ToDoBulkRepository
+{
+    private static final String INSERT_TASK =
+            "insert into to_do_obj (id, description, completed, created_at, updated_at, change_version, version, task_list_id, user_id) " +
+            "values (?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ToDoBulkRepository(JdbcTemplate jdbcTemplate)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //Returns the ids of the rows written, in the order of the descriptions.
+    public List<Long> insertTasks(Long taskListId, Long userId, List<String> descriptions, LocalDateTime createdAt, long version)
+    {
+        Timestamp created = Timestamp.valueOf(createdAt);
+        TimeOrderedIds generator = TimeOrderedIds.shared();
+        List<Long> ids = new ArrayList<>(descriptions.size());
+
+        jdbcTemplate.batchUpdate(INSERT_TASK, descriptions, BATCH_SIZE, (ps, description) -> {
+            long id = generator.next();
+            ids.add(id);
+            ps.setLong(1, id);
+            ps.setString(2, description);
+            ps.setBoolean(3, false);
+            ps.setTimestamp(4, created);
+            ps.setTimestamp(5, created);
+            ps.setLong(6, version);
+            ps.setLong(7, taskListId);
+            ps.setLong(8, userId);
+        });
+
+        //Every row was written, or batchUpdate would have thrown. The per-row counts are not
+        //summed: drivers may report SUCCESS_NO_INFO (-2) for batched rows.
+        return ids;
+    }
+}
+
+//***************************************************************************************
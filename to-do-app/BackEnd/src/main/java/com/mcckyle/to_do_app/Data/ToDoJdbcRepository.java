@@ -0,0 +1,140 @@
+//***************************************************************************************
+//
+//     Filename: ToDoJdbcRepository.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file implements owner-scoped task updates and deletes in plain JDBC.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Data;
+
+import com.mcckyle.to_do_app.payload.TaskDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+//***************************************************************************************
+
+/**
+ * One statement per call, each scoped to the owner, so a task that belongs to
+ * someone else is simply not touched.
+ * <p>
+ * As bulk HQL these would make Hibernate drop every list's cached task ids, for
+ * every user, on each toggle or delete. Written here, Hibernate never sees them.
+ * A toggle leaves each list's task ids as they were; after a delete the caller
+ * evicts the task ids of the lists it removed from
+ * ({@link com.mcckyle.to_do_app.cache.SecondLevelCacheEvictor}). Pending changes
+ * in the persistence context are flushed first, as Hibernate would have done.
+ * </p>
+ */
+@Repository
+public class ToDoJdbcRepository
+{
+    //Only touches the row when the flag actually flips, so a returned 1 means exactly one list counter moves.
+    private static final String UPDATE_COMPLETED =
+            "update to_do_obj set completed = :completed, change_version = :version, updated_at = :now, version = version + 1 " +
+            "where id = :id and user_id = :userId and coalesce(completed, false) <> :completed";
+
+    //The flag alone, for a caller that saves the rest of the row (and its version) through the entity.
+    private static final String FLIP_COMPLETED =
+            "update to_do_obj set completed = :completed " +
+            "where id = :id and user_id = :userId and coalesce(completed, false) <> :completed";
+
+    //The row as it is now, held until commit; description is left out, callers only need the rest.
+    private static final String LOCK_SUMMARY =
+            "select id, completed, task_list_id, version from to_do_obj where id = :id and user_id = :userId for update";
+
+    private static final String DELETE =
+            "delete from to_do_obj where id = :id and user_id = :userId";
+
+    //Batch variants: one statement for any number of ids.
+    private static final String UPDATE_COMPLETED_ALL =
+            "update to_do_obj set completed = :completed, change_version = :version, updated_at = :now, version = version + 1 " +
+            "where id in (:ids) and user_id = :userId";
+
+    private static final String DELETE_ALL =
+            "delete from to_do_obj where id in (:ids) and user_id = :userId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ToDoJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int updateCompleted(Long id, Long userId, boolean completed, long version, LocalDateTime now)
+    {
+        entityManager.flush();
+
+        return jdbcTemplate.update(UPDATE_COMPLETED, new MapSqlParameterSource()
+                .addValue("completed", completed)
+                .addValue("version", version)
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("id", id)
+                .addValue("userId", userId));
+    }
+
+    public int flipCompleted(Long id, Long userId, boolean completed)
+    {
+        entityManager.flush();
+
+        return jdbcTemplate.update(FLIP_COMPLETED, new MapSqlParameterSource()
+                .addValue("completed", completed)
+                .addValue("id", id)
+                .addValue("userId", userId));
+    }
+
+    public Optional<TaskDTO> lockSummary(Long id, Long userId)
+    {
+        entityManager.flush();
+
+        return jdbcTemplate.query(LOCK_SUMMARY, new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("userId", userId),
+                (rs, row) -> new TaskDTO(rs.getLong("id"), null, rs.getBoolean("completed"),
+                        rs.getLong("task_list_id"), rs.getLong("version")))
+                .stream().findFirst();
+    }
+
+    public int delete(Long id, Long userId)
+    {
+        entityManager.flush();
+
+        return jdbcTemplate.update(DELETE, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("userId", userId));
+    }
+
+    public int updateCompleted(Collection<Long> ids, Long userId, boolean completed, long version, LocalDateTime now)
+    {
+        entityManager.flush();
+
+        return jdbcTemplate.update(UPDATE_COMPLETED_ALL, new MapSqlParameterSource()
+                .addValue("completed", completed)
+                .addValue("version", version)
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("ids", ids)
+                .addValue("userId", userId));
+    }
+
+    public int delete(Collection<Long> ids, Long userId)
+    {
+        entityManager.flush();
+
+        return jdbcTemplate.update(DELETE_ALL, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("userId", userId));
+    }
+}
+
+//***************************************************************************************
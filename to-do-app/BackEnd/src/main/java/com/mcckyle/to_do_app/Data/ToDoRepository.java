@@ -12,17 +12,53 @@ package com.mcckyle.to_do_app.Data;
 import com.mcckyle.to_do_app.Models.TaskList;
 import com.mcckyle.to_do_app.Models.ToDoObj;
 import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.payload.OwnedTask;
+import com.mcckyle.to_do_app.payload.TaskChange;
+import com.mcckyle.to_do_app.payload.TaskDTO;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 //***************************************************************************************
 
 @Repository
-public interface ToDoRepository extends CrudRepository<ToDoObj, Integer>
+public interface ToDoRepository extends CrudRepository<ToDoObj, Long>, ToDoRepositoryCustom
 {
     List<ToDoObj> findByUser(User user);           // Method to find ToDos by User
     List<ToDoObj> findByTaskList(TaskList taskList);  // Method to find ToDos by TaskList
+
+    //Ownership-scoped lookups: a task that belongs to someone else is simply "not found".
+    Optional<ToDoObj> findByIdAndUserId(Long id, Long userId);
+
+    //Owner-scoped updates and deletes are in ToDoJdbcRepository.
+    //Batch lookup: one statement for any number of ids, still scoped to the owner.
+    @Query("select new com.mcckyle.to_do_app.payload.OwnedTask(t.id, t.taskList.id) from ToDoObj t " +
+           "where t.id in :ids and t.user.id = :userId")
+    List<OwnedTask> findOwned(Collection<Long> ids, Long userId);
+
+    @Query("select t.id from ToDoObj t where t.taskList.id = :taskListId")
+    List<Long> findIdsByTaskListId(Long taskListId);
+
+    //Delta sync, served by idx_todo_user_change_version.
+    @Query("select new com.mcckyle.to_do_app.payload.TaskChange(t.id, t.taskList.id, t.description, t.completed, t.createdAt, t.updatedAt, t.version) " +
+           "from ToDoObj t where t.user.id = :userId and t.changeVersion > :since order by t.changeVersion, t.id")
+    List<TaskChange> findChangesSince(Long userId, long since);
+
+    //Read-only projections: rows go straight into DTOs without entering the persistence context.
+    @Query("select new com.mcckyle.to_do_app.payload.TaskDTO(t.id, t.description, t.completed, t.taskList.id, t.version) " +
+           "from ToDoObj t where t.user.id = :userId order by t.id")
+    List<TaskDTO> findSummariesByUserId(Long userId);
+
+    @Query("select new com.mcckyle.to_do_app.payload.TaskDTO(t.id, t.description, t.completed, t.taskList.id, t.version) " +
+           "from ToDoObj t where t.taskList.id = :taskListId order by t.id")
+    List<TaskDTO> findSummariesByTaskListId(Long taskListId);
+
+    @Query("select new com.mcckyle.to_do_app.payload.TaskDTO(t.id, t.description, t.completed, t.taskList.id, t.version) " +
+           "from ToDoObj t where t.id = :id and t.user.id = :userId")
+    Optional<TaskDTO> findSummaryByIdAndUserId(Long id, Long userId);
 }
 
 //***************************************************************************************
\ No newline at end of file
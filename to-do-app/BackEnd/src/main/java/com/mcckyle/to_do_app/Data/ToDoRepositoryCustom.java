@@ -0,0 +1,30 @@
+//***************************************************************************************
+//
+//     Filename: ToDoRepositoryCustom.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file declares the hand-written task queries.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Data;
+
+import com.mcckyle.to_do_app.payload.TaskQuery;
+import com.mcckyle.to_do_app.payload.TaskResponse;
+import org.springframework.data.domain.Slice;
+
+//***************************************************************************************
+
+public interface ToDoRepositoryCustom
+{
+    /**
+     * Reads one page of a user's tasks in a list, applying only the filters that are set.
+     *
+     * @param query  list, filters, sort key and keyset cursor
+     * @param userId owner of the list; other users' tasks are never returned
+     * @param limit  page size, or {@code null} for every matching task
+     */
+    Slice<TaskResponse> findResponses(TaskQuery query, Long userId, Integer limit);
+}
+
+//***************************************************************************************
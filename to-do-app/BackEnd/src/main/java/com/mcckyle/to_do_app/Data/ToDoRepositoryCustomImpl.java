@@ -0,0 +1,140 @@
+//***************************************************************************************
+//
+//     Filename: ToDoRepositoryCustomImpl.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file implements the hand-written task queries.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Data;
+
+import com.mcckyle.to_do_app.Models.ToDoObj;
+import com.mcckyle.to_do_app.payload.TaskQuery;
+import com.mcckyle.to_do_app.payload.TaskResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import java.util.ArrayList;
+import java.util.List;
+
+//***************************************************************************************
+
+/**
+ * Builds the task read query from only the filters that were requested, so every
+ * combination lands on one of the composite indexes declared on {@link ToDoObj}
+ * instead of on a catch-all {@code (:x is null or ...)} query.
+ * <p>
+ * Pages are keyset pages ordered by (sort key, id). The cursor carries both, so
+ * the next page is found without reading the last task seen, which may be gone.
+ * </p>
+ */
+public class ToDoRepositoryCustomImpl implements ToDoRepositoryCustom
+{
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TaskResponse> findResponses(TaskQuery query, Long userId, Integer limit)
+    {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> cq = cb.createQuery(TaskResponse.class);
+        Root<ToDoObj> task = cq.from(ToDoObj.class);
+
+        String sortAttribute = sortAttribute(query.getSort());
+        Path<Long> id = task.get("id");
+        Path<Comparable<Object>> sortKey = (sortAttribute == null) ? null : task.get(sortAttribute);
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(task.get("taskList").get("id"), query.getTaskListId()));
+        where.add(cb.equal(task.get("user").get("id"), userId));
+
+        if (query.getCompleted() != null)
+        {
+            where.add(cb.equal(task.get("completed"), query.getCompleted()));
+        }
+
+        if (query.getCreatedAfter() != null)
+        {
+            where.add(cb.greaterThanOrEqualTo(task.get("createdAt"), query.getCreatedAfter()));
+        }
+
+        if (query.getCreatedBefore() != null)
+        {
+            where.add(cb.lessThan(task.get("createdAt"), query.getCreatedBefore()));
+        }
+
+        if (query.getAfter() != null)
+        {
+            where.add(afterCursor(cb, query, id, sortKey));
+        }
+
+        cq.select(cb.construct(TaskResponse.class, id, task.get("description"), task.get("completed"), task.get("createdAt"), task.get("version")))
+          .where(where.toArray(new Predicate[0]));
+
+        if (sortKey == null)
+        {
+            cq.orderBy(cb.asc(id));
+        }
+        else
+        {
+            cq.orderBy(cb.asc(sortKey), cb.asc(id));
+        }
+
+        TypedQuery<TaskResponse> typed = entityManager.createQuery(cq);
+
+        if (limit == null)
+        {
+            return new SliceImpl<>(typed.getResultList());
+        }
+
+        //Read one extra row to learn whether another page exists.
+        List<TaskResponse> rows = typed.setMaxResults(limit + 1).getResultList();
+        boolean hasNext = rows.size() > limit;
+
+        return new SliceImpl<>(hasNext ? rows.subList(0, limit) : rows, Pageable.ofSize(limit), hasNext);
+    }
+
+    //Null when the sort is by id alone.
+    private static String sortAttribute(TaskQuery.Sort sort)
+    {
+        return switch (sort)
+        {
+            case CREATED_AT -> "createdAt";
+            case DESCRIPTION -> "description";
+            default -> null;
+        };
+    }
+
+    //Rows strictly after the cursor in (sort key, id) order; null keys sort first.
+    private static Predicate afterCursor(CriteriaBuilder cb, TaskQuery query,
+                                         Path<Long> id, Path<Comparable<Object>> sortKey)
+    {
+        Predicate afterId = cb.greaterThan(id, query.getAfter());
+
+        if (sortKey == null)
+        {
+            return afterId;
+        }
+
+        @SuppressWarnings("unchecked")
+        Comparable<Object> value = (Comparable<Object>) query.getAfterKey();
+
+        if (value == null)
+        {
+            return cb.or(cb.and(cb.isNull(sortKey), afterId), cb.isNotNull(sortKey));
+        }
+
+        return cb.or(cb.greaterThan(sortKey, value), cb.and(cb.equal(sortKey, value), afterId));
+    }
+}
+
+//***************************************************************************************
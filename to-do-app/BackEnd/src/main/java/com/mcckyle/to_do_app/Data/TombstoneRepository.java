@@ -0,0 +1,29 @@
+//***************************************************************************************
+//
+//     Filename: TombstoneRepository.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides database functionality for delete tombstones.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Data;
+
+import com.mcckyle.to_do_app.Models.Tombstone;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+//***************************************************************************************
+
+@Repository
+public interface TombstoneRepository extends CrudRepository<Tombstone, Long>
+{
+    //Served by idx_tombstone_user_change_version.
+    @Query("select t.entityId from Tombstone t " +
+           "where t.userId = :userId and t.kind = :kind and t.changeVersion > :since order by t.changeVersion")
+    List<Long> findEntityIdsSince(Long userId, Tombstone.Kind kind, long since);
+}
+
+//***************************************************************************************
@@ -0,0 +1,59 @@
+//***************************************************************************************
+//
+//     Filename: UserJdbcRepository.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file implements single-column user updates in plain JDBC.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+//***************************************************************************************
+
+/**
+ * The change version is bumped by every write of every user. As a bulk HQL update
+ * it made Hibernate drop the whole cached users region each time; written here,
+ * Hibernate never sees it, and the caller evicts just that user
+ * ({@link com.mcckyle.to_do_app.cache.SecondLevelCacheEvictor}). Pending changes
+ * in the persistence context are flushed first, as Hibernate would have done.
+ */
+@Repository
+public class UserJdbcRepository
+{
+    private static final String INCREMENT_CHANGE_VERSION =
+            "update users set change_version = change_version + 1 where id = ?";
+
+    private static final String UPDATE_PASSWORD =
+            "update users set password = ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserJdbcRepository(JdbcTemplate jdbcTemplate)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int incrementChangeVersion(Long id)
+    {
+        entityManager.flush();
+        return jdbcTemplate.update(INCREMENT_CHANGE_VERSION, id);
+    }
+
+    //Swaps in a fresh hash of the same password; unlike a password change it leaves tokenVersion alone.
+    public int updatePasswordHash(Long id, String password)
+    {
+        entityManager.flush();
+        return jdbcTemplate.update(UPDATE_PASSWORD, password, id);
+    }
+}
+
+//***************************************************************************************
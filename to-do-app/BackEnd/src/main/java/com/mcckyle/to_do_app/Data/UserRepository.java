@@ -10,17 +10,34 @@
 package com.mcckyle.to_do_app.Data;
 
 import com.mcckyle.to_do_app.Models.User;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.Optional;
 
 //***************************************************************************************
 
-public interface UserRepository extends CrudRepository<User, Integer>
+public interface UserRepository extends JpaRepository<User, Long>
 {
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
     Optional<User> findByUsername(String username);
     Boolean existsByUsername(String username);
+
+    //The user with its roles in one query, for app.security.role-storage=join (User.roles is lazy).
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesById(Long id);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByEmail(String email);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(Long id);
+
+    @Query("select u.changeVersion from User u where u.id = :id")
+    Optional<Long> findChangeVersionById(Long id);
+
+    //The change version and rehash updates are in UserJdbcRepository.
 }
 
 //***************************************************************************************
@@ -0,0 +1,25 @@
+//***************************************************************************************
+//
+//     Filename: BadRequestException.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file implements custom exception handling
+//                  for client input the API rejects.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Exceptions;
+
+//***************************************************************************************
+
+//Extends IllegalArgumentException so existing callers and tests that expect one still work;
+//only this type is answered with 400, so a stray IllegalArgumentException from a bug stays a 500.
+public class BadRequestException extends IllegalArgumentException
+{
+    public BadRequestException(String message)
+    {
+        super(message);
+    }
+}
+
+//***************************************************************************************
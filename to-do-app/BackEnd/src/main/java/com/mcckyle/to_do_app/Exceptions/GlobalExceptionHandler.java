@@ -11,6 +11,9 @@
 package com.mcckyle.to_do_app.Exceptions;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,4 +27,43 @@ public class GlobalExceptionHandler
     {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<?> handleBadRequestException(BadRequestException ex)
+    {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskListNotFoundException.class)
+    public ResponseEntity<?> handleTaskListNotFoundException(TaskListNotFoundException ex)
+    {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<?> handlePreconditionFailedException(PreconditionFailedException ex)
+    {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> handleTooManyRequestsException(TooManyRequestsException ex)
+    {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    //Another writer committed between this request's read and its write; the client re-reads and retries.
+    //412 only answers a request that made a precondition (If-Match, as EntityTags.parseIfMatch reads it);
+    //an unconditional write that lost the race is a plain 409 conflict.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, HttpServletRequest request)
+    {
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        boolean conditional = (ifMatch != null) && ( ! ifMatch.isBlank()) && ( ! ifMatch.trim().equals("*"));
+
+        return ResponseEntity.status(conditional ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                .body("This item was changed by another request. Reload it and try again.");
+    }
 }
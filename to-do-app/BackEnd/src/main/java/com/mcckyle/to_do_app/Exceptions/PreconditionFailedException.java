@@ -0,0 +1,23 @@
+//***************************************************************************************
+//
+//     Filename: PreconditionFailedException.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file implements custom exception handling
+//                  for writes whose If-Match no longer matches.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Exceptions;
+
+//***************************************************************************************
+
+public class PreconditionFailedException extends RuntimeException
+{
+    public PreconditionFailedException(String message)
+    {
+        super(message);
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,31 @@
+//***************************************************************************************
+//
+//     Filename: TooManyRequestsException.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file implements custom exception handling
+//                  for requests shed under load.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Exceptions;
+
+//***************************************************************************************
+
+public class TooManyRequestsException extends RuntimeException
+{
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds)
+    {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds()
+    {
+        return retryAfterSeconds;
+    }
+}
+
+//***************************************************************************************
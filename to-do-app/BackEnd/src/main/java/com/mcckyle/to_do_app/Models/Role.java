@@ -9,22 +9,29 @@
 
 package com.mcckyle.to_do_app.Models;
 
+import com.mcckyle.to_do_app.ids.TimeOrderedId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.mcckyle.to_do_app.cache.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 //***************************************************************************************
 
+//Roles are only ever inserted (UserService.initRoles), so the cache never needs to lock.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CacheRegions.ROLES)
 @Table(name = "roles")
 public class Role
 {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Integer id;
+    @TimeOrderedId
+    private Long id;
 
     @Column(unique = true, nullable = false)
     private String name;  // Example values: "ROLE_USER", "ROLE_ADMIN"
@@ -42,12 +49,12 @@ public class Role
     }
 
     // Getters and setters
-    public Integer getId()
+    public Long getId()
     {
         return id;
     }
 
-    public void setId(Integer id)
+    public void setId(Long id)
     {
         this.id = id;
     }
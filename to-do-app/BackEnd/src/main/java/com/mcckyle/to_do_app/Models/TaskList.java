@@ -10,10 +10,17 @@
 
 package com.mcckyle.to_do_app.Models;
 
+import com.mcckyle.to_do_app.cache.CacheRegions;
+import com.mcckyle.to_do_app.ids.TimeOrderedId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -22,12 +29,17 @@ import java.util.Objects;
 
 @JsonIgnoreProperties({"tasks"}) // Ignore the "tasks" field in the serialized JSON
 @Entity
-@Table(name = "task_lists")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TASK_LISTS)
+@Table(name = "task_lists", indexes = {
+        //Delta sync: GET /api/todos/changes?since= reads a user's rows with a newer change version.
+        @Index(name = "idx_task_list_user_change_version", columnList = "user_id, change_version")
+})
 public class TaskList
 {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Integer id;
+    @TimeOrderedId
+    private Long id;
 
     private String name;
 
@@ -40,6 +52,8 @@ public class TaskList
     // Define a relationship with Task
     @JsonManagedReference(value = "taskList-tasks")
     @OneToMany(mappedBy = "taskList", cascade = CascadeType.ALL)
+    @OptimisticLock(excluded = true) //Adding a task is not an edit of the list.
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TASK_LIST_TASKS) //Task ids only; see ToDoObj's @BatchSize.
     private List<ToDoObj> tasks = new ArrayList<>();
 
     // Add a 'deleted' field to track deletion status
@@ -49,6 +63,29 @@ public class TaskList
     @Column(nullable = false)
     private boolean isDefault = false; // Mark if it's the default list for the user
 
+    //Maintained by single UPDATE statements in TaskListCounterRepository, never written from here,
+    //so saving a list (e.g. a rename) cannot overwrite a count with a stale value.
+    @Column(name = "task_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int taskCount;
+
+    @Column(name = "completed_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int completedCount;
+
+    private LocalDateTime updatedAt;
+
+    //The owner's change version when this row or its counters last changed (see ChangeVersionRegistry).
+    @Column(name = "change_version", nullable = false)
+    @ColumnDefault("0")
+    private long changeVersion;
+
+    //Optimistic lock over the list's own fields; the counters and tasks do not move it.
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     // Default constructor
     public TaskList()
     {
@@ -62,7 +99,7 @@ public class TaskList
     }
 
     // Setters and getters...
-    public Integer getId()
+    public Long getId()
     {
         return id;
     }
@@ -103,7 +140,7 @@ public class TaskList
         task.setTaskList(this);
     }
 
-    public void setId(Integer id)
+    public void setId(Long id)
     {
         this.id = id;
     }
@@ -130,6 +167,38 @@ public class TaskList
         isDefault = aDefault;
     }
 
+    public int getTaskCount()
+    {
+        return taskCount;
+    }
+
+    public int getCompletedCount()
+    {
+        return completedCount;
+    }
+
+    public LocalDateTime getUpdatedAt()
+    {
+        return updatedAt;
+    }
+
+    public long getChangeVersion()
+    {
+        return changeVersion;
+    }
+
+    public Long getVersion()
+    {
+        return version;
+    }
+
+    //Stamps the row as changed in the given change version.
+    public void markChanged(long changeVersion, LocalDateTime updatedAt)
+    {
+        this.changeVersion = changeVersion;
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public boolean equals(Object o)
     {
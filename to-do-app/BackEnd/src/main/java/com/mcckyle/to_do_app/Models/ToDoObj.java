@@ -9,20 +9,35 @@
 
 package com.mcckyle.to_do_app.Models;
 
+import com.mcckyle.to_do_app.ids.TimeOrderedId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 //***************************************************************************************
 
+//Tasks are not cached themselves; a list's cached task ids are loaded back this many rows per query, not one by one.
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Entity
+@BatchSize(size = 100)
+@Table(indexes = {
+        //Each index serves one filter or sort of GET /api/todos/{taskListId}, with id as the keyset tie-breaker.
+        @Index(name = "idx_todo_task_list_id_id", columnList = "task_list_id, id"),
+        @Index(name = "idx_todo_task_list_completed", columnList = "task_list_id, completed, id"),
+        @Index(name = "idx_todo_task_list_created_at", columnList = "task_list_id, created_at, id"),
+        @Index(name = "idx_todo_task_list_description", columnList = "task_list_id, description, id"),
+        //Delta sync: GET /api/todos/changes?since= reads a user's rows with a newer change version.
+        @Index(name = "idx_todo_user_change_version", columnList = "user_id, change_version")
+})
 public class ToDoObj
 {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Integer id;
+    @TimeOrderedId
+    private Long id;
 
     @Column(nullable = true)
     private String description;
@@ -33,12 +48,27 @@ public class ToDoObj
     @Column(nullable = true)
     private LocalDateTime createdAt;
 
+    private LocalDateTime updatedAt;
+
+    //The owner's change version when this row last changed (see ChangeVersionRegistry).
+    @JsonIgnore
+    @Column(name = "change_version", nullable = false)
+    @ColumnDefault("0")
+    private long changeVersion;
+
+    //Optimistic lock: bumped by every write, sent as the ETag and checked against If-Match.
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     // Foreign key to associate with a TaskList
     @JsonBackReference(value = "taskList-tasks") //Prevent json serialization of circular refs...
     @ManyToOne
     @JoinColumn(name = "task_list_id")
     private TaskList taskList;
 
+    @JsonIgnore //The owner is the caller; never serialize it (or its password hash).
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -58,7 +88,7 @@ public class ToDoObj
     }
 
     //Getters and setters...
-    public Integer getId()
+    public Long getId()
     {
         return id;
     }
@@ -93,6 +123,28 @@ public class ToDoObj
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt()
+    {
+        return updatedAt;
+    }
+
+    public long getChangeVersion()
+    {
+        return changeVersion;
+    }
+
+    public Long getVersion()
+    {
+        return version;
+    }
+
+    //Stamps the row as changed in the given change version.
+    public void markChanged(long changeVersion, LocalDateTime updatedAt)
+    {
+        this.changeVersion = changeVersion;
+        this.updatedAt = updatedAt;
+    }
+
     public TaskList getTaskList()
     {
         return taskList;
@@ -0,0 +1,102 @@
+//***************************************************************************************
+//
+//     Filename: Tombstone.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the record left behind by a hard delete.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Models;
+
+import com.mcckyle.to_do_app.ids.TimeOrderedId;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+//***************************************************************************************
+
+/**
+ * Remembers that a task or list was deleted, and in which change version, so
+ * that delta sync can tell clients to drop it. Written in the same
+ * transaction as the delete itself.
+ */
+@Entity
+@Table(name = "tombstones", indexes = {
+        @Index(name = "idx_tombstone_user_change_version", columnList = "user_id, change_version")
+})
+public class Tombstone
+{
+    public enum Kind
+    {
+        TASK,
+        LIST
+    }
+
+    @Id
+    @TimeOrderedId
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Kind kind;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_version", nullable = false)
+    private long changeVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Default constructor
+    public Tombstone()
+    {
+
+    }
+
+    public Tombstone(Long userId, Kind kind, Long entityId, long changeVersion, LocalDateTime deletedAt)
+    {
+        this.userId = userId;
+        this.kind = kind;
+        this.entityId = entityId;
+        this.changeVersion = changeVersion;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters
+    public Long getId()
+    {
+        return id;
+    }
+
+    public Long getUserId()
+    {
+        return userId;
+    }
+
+    public Kind getKind()
+    {
+        return kind;
+    }
+
+    public Long getEntityId()
+    {
+        return entityId;
+    }
+
+    public long getChangeVersion()
+    {
+        return changeVersion;
+    }
+
+    public LocalDateTime getDeletedAt()
+    {
+        return deletedAt;
+    }
+}
+
+//***************************************************************************************
@@ -9,8 +9,13 @@
 
 package com.mcckyle.to_do_app.Models;
 
+import com.mcckyle.to_do_app.ids.TimeOrderedId;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import com.mcckyle.to_do_app.cache.CacheRegions;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -18,14 +23,22 @@ import java.util.Set;
 //***************************************************************************************
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_UNIQUE_KEY, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_UNIQUE_KEY, columnNames = "email")
+})
 public class User
 {
+    //Registration relies on these instead of looking for duplicates first (see UserService.registerUser).
+    public static final String USERNAME_UNIQUE_KEY = "uk_users_username";
+    public static final String EMAIL_UNIQUE_KEY = "uk_users_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Integer id;
+    @TimeOrderedId
+    private Long id;
 
-    @Column(unique = true)
     private String username;
 
     private String password;
@@ -35,7 +48,24 @@ public class User
     @Column(length = 500)
     private String bio;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    //Bumped whenever outstanding tokens must stop working (password change, account deletion).
+    @JsonIgnore
+    @Column(nullable = false)
+    private int tokenVersion = 0;
+
+    //Bumped by one UPDATE per change to the user's lists or tasks (see ChangeVersionRegistry); never written from here.
+    @Column(name = "change_version", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long changeVersion;
+
+    //Bits of UserRole. Read for authorities when app.security.role-storage=mask; kept current from registration on either way.
+    @JsonIgnore
+    @Column(name = "role_mask", nullable = false)
+    @ColumnDefault("1")
+    private int roleMask = UserRole.ROLE_USER.bit();
+
+    //The join-table form of the same roles (app.security.role-storage=join). Lazy, so ordinary user loads never join it.
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -102,16 +132,41 @@ public class User
         this.bio = bio;
     }
 
-    public Integer getId()
+    public Long getId()
     {
         return id;
     }
 
-    public void setId(Integer id)
+    public int getTokenVersion()
+    {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion)
+    {
+        this.tokenVersion = tokenVersion;
+    }
+
+    public long getChangeVersion()
+    {
+        return changeVersion;
+    }
+
+    public void setId(Long id)
     {
         this.id = id;
     }
 
+    public int getRoleMask()
+    {
+        return roleMask;
+    }
+
+    public void setRoleMask(int roleMask)
+    {
+        this.roleMask = roleMask;
+    }
+
     public Set<Role> getRoles()
     {
         return roles;
@@ -0,0 +1,55 @@
+//***************************************************************************************
+//
+//     Filename: UserRole.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file defines the roles a user can hold, as bits of users.role_mask.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Models;
+
+import java.util.Collection;
+
+//***************************************************************************************
+
+/**
+ * Each role is one bit of {@code users.role_mask}; a role's bit is fixed by its
+ * position here, so new roles go at the end and existing ones are never reordered.
+ */
+public enum UserRole
+{
+    ROLE_USER,
+    ROLE_ADMIN;
+
+    //Every mask value that can occur is below this.
+    public static final int MASK_LIMIT = 1 << values().length;
+
+    public int bit()
+    {
+        return 1 << ordinal();
+    }
+
+    public boolean isIn(int mask)
+    {
+        return (mask & bit()) != 0;
+    }
+
+    //Unknown names are skipped, as they grant nothing.
+    public static int maskOf(Collection<String> names)
+    {
+        int mask = 0;
+
+        for (UserRole role : values())
+        {
+            if (names.contains(role.name()))
+            {
+                mask |= role.bit();
+            }
+        }
+
+        return mask;
+    }
+}
+
+//***************************************************************************************
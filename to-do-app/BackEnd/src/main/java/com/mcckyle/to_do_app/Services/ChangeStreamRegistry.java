@@ -0,0 +1,373 @@
+//***************************************************************************************
+//
+//     Filename: ChangeStreamRegistry.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file fans committed changes out to each user's open event streams.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Services;
+
+import com.mcckyle.to_do_app.payload.ChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+//***************************************************************************************
+
+/**
+ * Per-user fan-out of {@link ChangeEvent}s to {@code GET /api/todos/stream}.
+ * <p>
+ * An open stream is an {@link SseEmitter} on an async servlet request, so an
+ * idle connection holds no thread, only its entry here. Publishing never
+ * blocks: each connection has a bounded queue, and a small shared pool of
+ * sender threads drains whichever queues have something in them, one drainer
+ * per connection at a time. A client that falls a whole queue behind is
+ * disconnected rather than buffered without limit; it reconnects and catches
+ * up through {@code GET /api/todos/changes}. A heartbeat comment keeps
+ * proxies from closing idle streams and finds connections that are gone.
+ * </p>
+ * <p>
+ * {@link SseEmitter#complete()} waits for any send in progress on the same
+ * emitter, so a connection is only ever unregistered where it is dropped and
+ * the emitter is completed on a separate closer thread. A send that takes
+ * longer than {@code app.stream.send-timeout-ms} drops its connection, and
+ * the pool gets a stand-in sender until that write returns, so clients that
+ * stop reading can never hold up delivery to anyone else.
+ * </p>
+ * <p>
+ * Events are only fanned out after their transaction commits.
+ * </p>
+ */
+@Component
+public class ChangeStreamRegistry
+{
+    private final Map<Long, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    private final ThreadPoolExecutor senders;
+    private final ExecutorService closers;
+    private final ScheduledExecutorService heartbeat;
+
+    private final Supplier<SseEmitter> emitters;
+    private final int bufferSize;
+    private final int maxPerUser;
+    private final int senderThreads;
+    private final long sendTimeoutNanos;
+
+    //Senders written off while stuck in a send; each one has a stand-in in the pool.
+    private int stuckSenders;
+
+    @Autowired
+    public ChangeStreamRegistry(MeterRegistry meterRegistry,
+                                @Value("${app.stream.timeout-ms:1800000}") long timeoutMillis,
+                                @Value("${app.stream.buffer-size:64}") int bufferSize,
+                                @Value("${app.stream.max-connections-per-user:8}") int maxPerUser,
+                                @Value("${app.stream.sender-threads:4}") int senderThreads,
+                                @Value("${app.stream.heartbeat-seconds:20}") long heartbeatSeconds,
+                                @Value("${app.stream.send-timeout-ms:10000}") long sendTimeoutMillis)
+    {
+        this(meterRegistry, () -> new SseEmitter(timeoutMillis), bufferSize, maxPerUser, senderThreads,
+                Duration.ofSeconds(heartbeatSeconds), Duration.ofMillis(sendTimeoutMillis));
+    }
+
+    //Tests supply their own emitters, a short heartbeat and a short send timeout.
+    public ChangeStreamRegistry(MeterRegistry meterRegistry, Supplier<SseEmitter> emitters, int bufferSize,
+                                int maxPerUser, int senderThreads, Duration heartbeatInterval, Duration sendTimeout)
+    {
+        this.emitters = emitters;
+        this.bufferSize = bufferSize;
+        this.maxPerUser = maxPerUser;
+        this.senderThreads = senderThreads;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemon("change-stream-sender"));
+        this.closers = Executors.newCachedThreadPool(daemon("change-stream-closer"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("change-stream-heartbeat"));
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        long checkMillis = Math.max(1, sendTimeout.toMillis() / 2);
+        this.heartbeat.scheduleAtFixedRate(this::dropStalledSends, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+
+        meterRegistry.gauge("tasks.stream.connections", openConnections);
+    }
+
+    //Opens a stream for the user; their oldest one is closed when they already have the most allowed.
+    public SseEmitter open(Long userId)
+    {
+        SseEmitter emitter = emitters.get();
+        Connection connection = new Connection(userId, emitter, bufferSize);
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+
+        //Adding and removing both go through compute, so a user's set is never dropped while being joined.
+        Set<Connection> connections = connectionsByUser.compute(userId, (id, set) -> {
+            Set<Connection> joined = (set == null) ? ConcurrentHashMap.newKeySet() : set;
+            joined.add(connection);
+            return joined;
+        });
+        openConnections.incrementAndGet();
+
+        if (connections.size() > maxPerUser)
+        {
+            connections.stream()
+                    .min((a, b) -> Long.compare(a.openedAt, b.openedAt))
+                    .ifPresent(this::evict);
+        }
+
+        //First event tells the client the stream is live.
+        enqueue(connection, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event)
+    {
+        Set<Connection> connections = connectionsByUser.get(event.getUserId());
+
+        if (connections == null)
+        {
+            return; //Nobody listening.
+        }
+
+        for (Connection connection : connections)
+        {
+            enqueue(connection, SseEmitter.event()
+                    .id(String.valueOf(event.getVersion()))
+                    .name("change")
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    public int openConnections()
+    {
+        return openConnections.get();
+    }
+
+    private void sendHeartbeats()
+    {
+        for (Set<Connection> connections : connectionsByUser.values())
+        {
+            for (Connection connection : connections)
+            {
+                enqueue(connection, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    //Runs on the heartbeat thread and only reads timestamps, so it is never held up by a client.
+    private void dropStalledSends()
+    {
+        long now = System.nanoTime();
+
+        for (Set<Connection> connections : connectionsByUser.values())
+        {
+            for (Connection connection : connections)
+            {
+                boolean stalled;
+
+                synchronized (connection)
+                {
+                    long since = connection.sendingSince;
+                    stalled = (since != 0) && (now - since > sendTimeoutNanos) && ( ! connection.stalled);
+                    connection.stalled |= stalled;
+                }
+
+                if (stalled)
+                {
+                    resizeSenders(1); //Stand in for the sender stuck on this client.
+                    evict(connection);
+                }
+            }
+        }
+    }
+
+    //Grows the pool before raising its core size, and lowers the core size before shrinking it.
+    private synchronized void resizeSenders(int delta)
+    {
+        stuckSenders += delta;
+        int size = senderThreads + stuckSenders;
+
+        if (delta > 0)
+        {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        }
+        else
+        {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder event)
+    {
+        if (connection.closed)
+        {
+            return;
+        }
+
+        if ( ! connection.queue.offer(event))
+        {
+            evict(connection); //Slow consumer: a full buffer behind.
+            return;
+        }
+
+        if (connection.draining.compareAndSet(false, true))
+        {
+            senders.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection)
+    {
+        try
+        {
+            SseEmitter.SseEventBuilder event;
+
+            while ( ( ! connection.closed) && ( (event = connection.queue.poll()) != null) )
+            {
+                connection.sendingSince = System.nanoTime();
+                connection.emitter.send(event);
+                sent(connection);
+            }
+        }
+        catch (IOException | IllegalStateException e)
+        {
+            sent(connection);
+            remove(connection); //Client went away, or the emitter already completed.
+            return;
+        }
+        finally
+        {
+            connection.draining.set(false);
+        }
+
+        //An event may have arrived after the last poll but before the flag was cleared.
+        if ( ( ! connection.queue.isEmpty()) && (connection.draining.compareAndSet(false, true)) )
+        {
+            senders.execute(() -> drain(connection));
+        }
+    }
+
+    //Ends a send; if the watchdog gave up on it meanwhile, this thread's stand-in is no longer needed.
+    private void sent(Connection connection)
+    {
+        boolean wasStalled;
+
+        synchronized (connection)
+        {
+            connection.sendingSince = 0;
+            wasStalled = connection.stalled;
+            connection.stalled = false;
+        }
+
+        if (wasStalled)
+        {
+            resizeSenders(-1);
+        }
+    }
+
+    //Unregisters here; completing may wait on a stuck send, so it runs on a closer thread.
+    private void evict(Connection connection)
+    {
+        if (remove(connection))
+        {
+            closers.execute(connection.emitter::complete);
+        }
+    }
+
+    //Returns true for the call that actually removed it.
+    private boolean remove(Connection connection)
+    {
+        AtomicBoolean removed = new AtomicBoolean();
+
+        connectionsByUser.computeIfPresent(connection.userId, (id, set) -> {
+            removed.set(set.remove(connection));
+            return set.isEmpty() ? null : set;
+        });
+
+        if (removed.get())
+        {
+            connection.closed = true;
+            openConnections.decrementAndGet();
+            connection.queue.clear();
+        }
+
+        return removed.get();
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+
+        for (Set<Connection> connections : connectionsByUser.values())
+        {
+            connections.forEach(connection -> closers.execute(connection.emitter::complete));
+        }
+
+        closers.shutdown(); //Daemon threads: a completion stuck on a client never holds up exit.
+    }
+
+    private static ThreadFactory daemon(String name)
+    {
+        AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Connection
+    {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final long openedAt = System.nanoTime();
+        private volatile boolean closed;
+
+        //When the send in progress started, or 0; both fields are guarded by the connection's lock.
+        private volatile long sendingSince;
+        private boolean stalled;
+
+        private Connection(Long userId, SseEmitter emitter, int bufferSize)
+        {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,137 @@
+//***************************************************************************************
+//
+//     Filename: ChangeVersionRegistry.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file tracks the current change version of each user in memory.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.mcckyle.to_do_app.Data.UserJdbcRepository;
+import com.mcckyle.to_do_app.Data.UserRepository;
+import com.mcckyle.to_do_app.cache.SecondLevelCacheEvictor;
+import com.mcckyle.to_do_app.threads.LoadingCaches;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+
+//***************************************************************************************
+
+/**
+ * Per-user change version: a counter in {@code users.change_version} that goes
+ * up by one whenever any of the user's lists or tasks change. Read endpoints
+ * send it as an ETag, so a client whose copy is current gets a 304 without a
+ * single task or list being read.
+ * <p>
+ * Reads are served from memory; the backing map is a concurrent hash map with
+ * per-bin locking, so users never contend with one another. A user missing
+ * from the map costs one primary-key lookup on {@code users} (in virtual-thread
+ * mode run off the map's bin lock, see {@link LoadingCaches}). A bump writes the
+ * database inside the caller's transaction and drops the in-memory entry only
+ * after commit, so a version number is never handed out for changes that
+ * could still roll back.
+ * </p>
+ * <p>
+ * Only this instance's bumps drop its entries. With several instances, a change
+ * made on another one is seen here once the entry expires, after
+ * {@code app.sync.change-version-ttl} (default 5s): until then this instance may
+ * still answer the old ETag with a 304.
+ * </p>
+ */
+@Component
+public class ChangeVersionRegistry
+{
+    private final UserRepository userRepository;
+    private final UserJdbcRepository userJdbcRepository;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final LoadingCache<Long, Long> versions;
+
+    @Autowired
+    public ChangeVersionRegistry(UserRepository userRepository,
+                                 UserJdbcRepository userJdbcRepository,
+                                 SecondLevelCacheEvictor cacheEvictor,
+                                 LoadingCaches loadingCaches,
+                                 @Value("${app.sync.change-version-cache-size:100000}") long maxEntries,
+                                 @Value("${app.sync.change-version-ttl:5s}") Duration ttl)
+    {
+        this(userRepository, userJdbcRepository, cacheEvictor, loadingCaches, maxEntries, ttl, Ticker.systemTicker());
+    }
+
+    //Tests supply a ticker to move time forward.
+    public ChangeVersionRegistry(UserRepository userRepository, UserJdbcRepository userJdbcRepository,
+                                 SecondLevelCacheEvictor cacheEvictor, LoadingCaches loadingCaches,
+                                 long maxEntries, Duration ttl, Ticker ticker)
+    {
+        this.userRepository = userRepository;
+        this.userJdbcRepository = userJdbcRepository;
+        this.cacheEvictor = cacheEvictor;
+        this.versions = loadingCaches.build(Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).ticker(ticker),
+                userId -> userRepository.findChangeVersionById(userId).orElse(0L));
+    }
+
+    //After a bulk bump of many users; dropped on completion for the same reason as in bump().
+    public void invalidateAll()
+    {
+        afterCompletion(versions::invalidateAll);
+    }
+
+    public long current(Long userId)
+    {
+        return versions.get(userId);
+    }
+
+    //Strong ETag for everything a user can read. The id keeps two accounts on one browser apart.
+    public String etag(Long userId)
+    {
+        return "\"" + userId + "-" + current(userId) + "\"";
+    }
+
+    /**
+     * Called by every mutation, inside its transaction and before it writes anything
+     * else. Returns the new version, which the mutation stamps on the rows it changes.
+     * <p>
+     * The increment also locks the user's row until commit, so one user's writers
+     * run one after another and their versions become visible in order. Delta sync
+     * relies on that: a cursor never skips a version that commits later.
+     * </p>
+     */
+    public long bump(Long userId)
+    {
+        userJdbcRepository.incrementChangeVersion(userId);
+        cacheEvictor.evictUser(userId); //Only this user's cached row carries the old version.
+        long version = userRepository.findChangeVersionById(userId).orElseThrow();
+
+        afterCompletion(() -> versions.invalidate(userId));
+        return version;
+    }
+
+    //Committed or not, the next read after the transaction sees the database.
+    private static void afterCompletion(Runnable invalidate)
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    invalidate.run();
+                }
+            });
+        }
+        else
+        {
+            invalidate.run();
+        }
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,54 @@
+//***************************************************************************************
+//
+//     Filename: TaskListCountReconciler.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file rebuilds the task list counters at startup when asked to.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+//***************************************************************************************
+
+/**
+ * Runs {@link ToDoApplicationService#reconcileTaskListCounts()} once the application
+ * is up, when {@code app.tasks.reconcile-counts-on-startup=true}. Off by default:
+ * it reads every task, and the counters are kept up to date as tasks change.
+ * The number of lists rebuilt is counted in {@code tasks.counters.reconciled}.
+ */
+@Component
+public class TaskListCountReconciler
+{
+    private final ToDoApplicationService toDoService;
+    private final Counter reconciled;
+    private final boolean enabled;
+
+    public TaskListCountReconciler(ToDoApplicationService toDoService, MeterRegistry meterRegistry,
+                                   @Value("${app.tasks.reconcile-counts-on-startup:false}") boolean enabled)
+    {
+        this.toDoService = toDoService;
+        this.reconciled = Counter.builder("tasks.counters.reconciled")
+                .description("Task lists whose counters were rebuilt from their tasks")
+                .register(meterRegistry);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup()
+    {
+        if (enabled)
+        {
+            reconciled.increment(toDoService.reconcileTaskListCounts());
+        }
+    }
+}
+
+//***************************************************************************************
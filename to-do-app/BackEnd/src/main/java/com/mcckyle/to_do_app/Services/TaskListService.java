@@ -9,11 +9,16 @@
 
 package com.mcckyle.to_do_app.Services;
 
+import com.mcckyle.to_do_app.cache.SecondLevelCacheEvictor;
+import com.mcckyle.to_do_app.Data.TaskListCounterRepository;
 import com.mcckyle.to_do_app.Data.TaskListRepository;
 import com.mcckyle.to_do_app.Models.TaskList;
 import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.payload.TaskListDTO;
+import com.mcckyle.to_do_app.payload.TaskListSummary;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,9 +28,14 @@ import java.util.Optional;
 public class TaskListService
 {
     private final TaskListRepository taskListRepository;
+    private final TaskListCounterRepository counterRepository;
+    private final SecondLevelCacheEvictor cacheEvictor;
 
-    public TaskListService(TaskListRepository taskListRepository) {
+    public TaskListService(TaskListRepository taskListRepository, TaskListCounterRepository counterRepository,
+                           SecondLevelCacheEvictor cacheEvictor) {
         this.taskListRepository = taskListRepository;
+        this.counterRepository = counterRepository;
+        this.cacheEvictor = cacheEvictor;
     }
 
     public TaskList save(TaskList taskList)
@@ -33,16 +43,72 @@ public class TaskListService
         return taskListRepository.save(taskList);
     }
 
-    public Optional<TaskList> findById(Integer id)
+    public Optional<TaskList> findById(Long id)
     {
         return taskListRepository.findById(id);
     }
 
+    public Optional<TaskList> findOwnedById(Long id, Long userId)
+    {
+        return taskListRepository.findByIdAndUserId(id, userId);
+    }
+
     public List<TaskList> findByUser(User user)
     {
         return taskListRepository.findByUser(user);
     }
 
+    public boolean isOwnedBy(Long id, Long userId)
+    {
+        return taskListRepository.existsByIdAndUserId(id, userId);
+    }
+
+    public List<TaskListDTO> findSummaries(Long userId)
+    {
+        return taskListRepository.findSummariesByUserId(userId);
+    }
+
+    public Optional<TaskListDTO> findDefaultSummary(Long userId)
+    {
+        return taskListRepository.findDefaultSummaryByUserId(userId);
+    }
+
+    public List<TaskListSummary> findCountSummaries(Long userId)
+    {
+        return taskListRepository.findCountSummariesByUserId(userId);
+    }
+
+    //Counter maintenance; callers run these in the same transaction as the task change.
+    public void adjustCounts(Long id, int tasks, int completed, long version)
+    {
+        if ( (tasks != 0) || (completed != 0) )
+        {
+            counterRepository.adjustCounts(id, tasks, completed, version);
+            cacheEvictor.evictTaskLists(List.of(id)); //Plain JDBC: only this list's cached row is stale.
+        }
+    }
+
+    public void recountByIds(Collection<Long> ids, long version)
+    {
+        if ( ! ids.isEmpty())
+        {
+            counterRepository.recountByIdIn(ids, version);
+            cacheEvictor.evictTaskLists(ids);
+        }
+    }
+
+    public List<TaskListSummary> findChangesSince(Long userId, long since)
+    {
+        return taskListRepository.findChangesSince(userId, since);
+    }
+
+    //Returns the number of lists whose counters were wrong and have been rebuilt.
+    public int recountAll()
+    {
+        taskListRepository.bumpOwnersOfStaleCounts();
+        return taskListRepository.recountStale();
+    }
+
     public Optional<TaskList> findDefaultByUser(User user)
     {
         return taskListRepository.findByUserAndIsDefaultTrue(user);
@@ -10,18 +10,41 @@
 
 package com.mcckyle.to_do_app.Services;
 
+import com.mcckyle.to_do_app.Exceptions.BadRequestException;
+import com.mcckyle.to_do_app.Exceptions.PreconditionFailedException;
 import com.mcckyle.to_do_app.Exceptions.TaskListNotFoundException;
 import com.mcckyle.to_do_app.Models.TaskList;
+import com.mcckyle.to_do_app.Models.Tombstone;
 import com.mcckyle.to_do_app.Models.ToDoObj;
 import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.payload.ChangeEvent;
+import com.mcckyle.to_do_app.payload.OwnedTask;
+import com.mcckyle.to_do_app.payload.TaskBatchResponse;
+import com.mcckyle.to_do_app.payload.TaskBulkCreateResponse;
+import com.mcckyle.to_do_app.payload.TaskChangesResponse;
+import com.mcckyle.to_do_app.payload.TaskDTO;
+import com.mcckyle.to_do_app.payload.TaskListDTO;
+import com.mcckyle.to_do_app.payload.TaskListSummary;
+import com.mcckyle.to_do_app.payload.TaskQuery;
+import com.mcckyle.to_do_app.payload.TaskResponse;
 import com.mcckyle.to_do_app.payload.TaskUpdateRequest;
 import com.mcckyle.to_do_app.payload.ToDoRequest;
 import com.mcckyle.to_do_app.payload.UserRegistrationDTO;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 //***************************************************************************************
 
@@ -31,20 +54,46 @@ public class ToDoApplicationService
     private final UserService userService;
     private final ToDoService toDoService;
     private final TaskListService taskListService;
+    private final TombstoneService tombstoneService;
+    private final ChangeVersionRegistry changeVersions;
+    private final ApplicationEventPublisher events;
+
+    //Keyset paging of tasks: page size when none is requested, and the most a client may ask for.
+    @Value("${app.tasks.page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.tasks.max-page-size:500}")
+    private int maxPageSize;
+
+    //Most task ids one batch request may name.
+    @Value("${app.tasks.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    //Most tasks one bulk create request may carry.
+    @Value("${app.tasks.max-bulk-create-size:5000}")
+    private int maxBulkCreateSize;
 
     public ToDoApplicationService(
             UserService userService,
             @Lazy ToDoService toDoService,
-            TaskListService taskListService)
+            TaskListService taskListService,
+            TombstoneService tombstoneService,
+            ChangeVersionRegistry changeVersions,
+            ApplicationEventPublisher events)
     {
         this.userService = userService;
         this.toDoService = toDoService;
         this.taskListService = taskListService;
+        this.tombstoneService = tombstoneService;
+        this.changeVersions = changeVersions;
+        this.events = events;
     }
 
     /**
-     * Registers a new user and provisions a default task list and task.
+     * Registers a new user and provisions a default task list and task, all in one
+     * transaction: a failure anywhere leaves no half-provisioned account behind.
      */
+    @Transactional
     public User registerUserWithDefaultTask(
             ToDoRequest request,
             String username,
@@ -55,47 +104,77 @@ public class ToDoApplicationService
                 new UserRegistrationDTO(username, email, password)
         );
 
-        //Create a default TaskList for the user.
-        TaskList defaultList = getOrCreateDefaultTaskList(user);
+        long version = changeVersions.bump(user.getId());
+        LocalDateTime now = LocalDateTime.now();
+
+        //Create a default TaskList for the user; a user inserted a moment ago has none to look up.
+        TaskList defaultList = newDefaultTaskList(user, version);
 
         //Create a default task and assign it to the TaskList.
         ToDoObj welcomeTask = new ToDoObj(
                 request.getDescription(),
                 false,
-                LocalDateTime.now(),
+                now,
                 defaultList
         );
         welcomeTask.setUser(user);
+        welcomeTask.markChanged(version, now);
 
         toDoService.save(welcomeTask);
+        taskListService.adjustCounts(defaultList.getId(), 1, 0, version);
+
+        publish(user, version, ChangeEvent.Kind.LIST, ChangeEvent.Action.UPSERTED, List.of(defaultList.getId()));
+        publish(user, version, ChangeEvent.Kind.TASK, ChangeEvent.Action.UPSERTED, List.of(welcomeTask.getId()));
         return user;
     }
 
     /**
      * Create a new TaskList for a user
      */
+    @Transactional
     public TaskList createTaskList(User user, String name)
     {
         requireValidUser(user);
         requireValidName(name);
 
+        long version = changeVersions.bump(user.getId());
         TaskList taskList = new TaskList(name, user);
-        return taskListService.save(taskList);  // Returns TaskList, not TaskListResponse
+        taskList.markChanged(version, LocalDateTime.now());
+
+        TaskList saved = taskListService.save(taskList);
+        publish(user, version, ChangeEvent.Kind.LIST, ChangeEvent.Action.UPSERTED, List.of(saved.getId()));
+
+        return saved;  // Returns TaskList, not TaskListResponse
+    }
+
+    @Transactional
+    public TaskList updateTaskList(Long taskListId, String newName, User user)
+    {
+        return updateTaskList(taskListId, newName, null, user);
     }
 
-    public TaskList updateTaskList(Integer taskListId, String newName, User user)
+    //expectedVersion is the client's If-Match; null means the client sent none.
+    @Transactional
+    public TaskList updateTaskList(Long taskListId, String newName, Long expectedVersion, User user)
     {
         requireValidUser(user);
         requireValidName(newName);
 
         TaskList taskList = getOwnedTaskList(taskListId, user);
+        requireVersion(expectedVersion, taskList.getVersion());
+        long version = changeVersions.bump(user.getId());
         taskList.setName(newName);
+        taskList.markChanged(version, LocalDateTime.now());
 
-        return taskListService.save(taskList);  // Returns TaskList, not TaskListResponse
+        TaskList saved = taskListService.save(taskList);
+        publish(user, version, ChangeEvent.Kind.LIST, ChangeEvent.Action.UPSERTED, List.of(taskListId));
+
+        return saved;  // Returns TaskList, not TaskListResponse
     }
 
     //Soft delete a task list.
-    public void setTaskListDeleted(Integer taskListId, boolean deleted, User user)
+    @Transactional
+    public void setTaskListDeleted(Long taskListId, boolean deleted, User user)
     {
         requireValidUser(user);
 
@@ -103,23 +182,75 @@ public class ToDoApplicationService
 
         if ( (taskList.isDefault()) && (deleted))
         {
-            throw new IllegalArgumentException("Default list cannot be deleted.");
+            throw new BadRequestException("Default list cannot be deleted.");
         }
 
+        long version = changeVersions.bump(user.getId());
         taskList.setDeleted(deleted);
+        taskList.markChanged(version, LocalDateTime.now());
         taskListService.save(taskList);  // Returns TaskList, not TaskListResponse
+
+        publish(user, version, ChangeEvent.Kind.LIST, ChangeEvent.Action.UPSERTED, List.of(taskListId));
     }
 
-    public void deleteTaskList(Integer taskListId, User user)
+    @Transactional
+    public void deleteTaskList(Long taskListId, User user)
     {
         TaskList taskList = getOwnedTaskList(taskListId, user);
 
         if (taskList.isDefault())
         {
-            throw new IllegalArgumentException("Default task list cannot be deleted.");
+            throw new BadRequestException("Default task list cannot be deleted.");
         }
 
+        long version = changeVersions.bump(user.getId());
+
+        //Its tasks go with it (cascade), so they need tombstones too.
+        List<Long> taskIds = toDoService.findIdsByTaskList(taskListId);
+        tombstoneService.recordDeleted(user.getId(), Tombstone.Kind.TASK, taskIds, version);
+        tombstoneService.recordDeleted(user.getId(), Tombstone.Kind.LIST, List.of(taskListId), version);
         taskListService.delete(taskList);
+
+        if ( ! taskIds.isEmpty())
+        {
+            publish(user, version, ChangeEvent.Kind.TASK, ChangeEvent.Action.DELETED, taskIds);
+        }
+
+        publish(user, version, ChangeEvent.Kind.LIST, ChangeEvent.Action.DELETED, List.of(taskListId));
+    }
+
+    /**
+     * Strong ETag of everything the user can read; it changes with every mutation
+     * above. Costs no task or list query, so conditional GETs can be answered first.
+     */
+    public String getChangeTag(User user)
+    {
+        requireValidUser(user);
+
+        return changeVersions.etag(user.getId());
+    }
+
+    /**
+     * Delta sync: every list and task created, updated or deleted after change
+     * version {@code since}, and the cursor to send next time. Without
+     * {@code since} everything is returned. Each part is one query on a
+     * {@code (user_id, change_version)} index.
+     */
+    public TaskChangesResponse getChangesSince(Long since, User user)
+    {
+        requireValidUser(user);
+
+        //Read the cursor first: anything committed after this point is either included below or comes next time.
+        long cursor = changeVersions.current(user.getId());
+        long after = (since == null) ? -1L : since;
+
+        return new TaskChangesResponse(
+                cursor,
+                taskListService.findChangesSince(user.getId(), after),
+                toDoService.findChangesSince(user.getId(), after),
+                (since == null) ? List.of() : tombstoneService.findDeletedIds(user.getId(), Tombstone.Kind.LIST, after),
+                (since == null) ? List.of() : tombstoneService.findDeletedIds(user.getId(), Tombstone.Kind.TASK, after)
+        );
     }
 
     /**
@@ -132,10 +263,100 @@ public class ToDoApplicationService
         return taskListService.findByUser(user);
     }
 
+    /**
+     * Read-only summaries of every task list of a user, with their tasks.
+     * Two projection queries, no managed entities.
+     */
+    public List<TaskListDTO> getTaskListSummariesForUser(User user)
+    {
+        requireValidUser(user);
+
+        Map<Long, TaskListDTO> listsById = new LinkedHashMap<>();
+
+        for (TaskListDTO list : taskListService.findSummaries(user.getId()))
+        {
+            listsById.put(list.getId(), list);
+        }
+
+        for (TaskDTO task : toDoService.findSummariesByUser(user.getId()))
+        {
+            TaskListDTO list = listsById.get(task.getTaskListId());
+
+            if (list != null)
+            {
+                list.getTasks().add(task);
+            }
+        }
+
+        return new ArrayList<>(listsById.values());
+    }
+
+    /**
+     * Sidebar view of every task list of a user: names and task counts, no tasks.
+     * One query, one row per list.
+     */
+    public List<TaskListSummary> getTaskListCountSummariesForUser(User user)
+    {
+        requireValidUser(user);
+
+        return taskListService.findCountSummaries(user.getId());
+    }
+
+    /**
+     * Rebuilds every list's task counters from the tasks themselves, for data
+     * written before the counters existed or changed outside this service.
+     * Fixed lists get a new change version, so delta sync clients see them.
+     */
+    @Transactional
+    public int reconcileTaskListCounts()
+    {
+        int fixed = taskListService.recountAll();
+        changeVersions.invalidateAll(); //Owners of fixed lists were bumped in bulk.
+        return fixed;
+    }
+
+    /**
+     * Read-only summary of the user's default task list, with its tasks.
+     */
+    public TaskListDTO getDefaultTaskListSummary(User user)
+    {
+        requireValidUser(user);
+
+        TaskListDTO list = taskListService.findDefaultSummary(user.getId())
+                .orElseThrow(() -> new RuntimeException("The Default task list was not found!"));
+        list.setTasks(toDoService.findSummariesByTaskList(list.getId()));
+
+        return list;
+    }
+
+    /**
+     * Read-only view of the tasks in a task list owned by a user, filtered and
+     * sorted as requested. Without a cursor or a limit every matching task is
+     * returned; otherwise one keyset page of at most {@code limit} tasks.
+     */
+    public Slice<TaskResponse> findTasks(TaskQuery query, Integer limit, User user)
+    {
+        requireValidUser(user);
+
+        if ( ! taskListService.isOwnedBy(query.getTaskListId(), user.getId()))
+        {
+            throw new TaskListNotFoundException("Task list with ID " + query.getTaskListId() + " not found.");
+        }
+
+        Integer pageSize = null;
+
+        if ( (query.getAfter() != null) || (limit != null) )
+        {
+            pageSize = (limit == null) ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        }
+
+        return toDoService.findResponses(query, user.getId(), pageSize);
+    }
+
     /**
      * Get all tasks for a specific task list owned by a user.
      */
-    public List<ToDoObj> getTasksForList(Integer taskListId, User user)
+    public List<ToDoObj> getTasksForList(Long taskListId, User user)
     {
         requireValidUser(user);
 
@@ -143,91 +364,273 @@ public class ToDoApplicationService
         return taskList.getTasks();
     }
 
-    public ToDoObj createTask(String description, Integer taskListId, User user)
+    @Transactional
+    public ToDoObj createTask(String description, Long taskListId, User user)
     {
         requireValidUser(user);
 
         //Check if the user already has a default task list.
         TaskList taskList = getOwnedTaskList(taskListId, user);
 
+        long version = changeVersions.bump(user.getId());
+        LocalDateTime now = LocalDateTime.now();
+
         ToDoObj task = new ToDoObj(
                 description,
                 false,
-                LocalDateTime.now(),
+                now,
                 taskList
         );
         task.setUser(user);
+        task.markChanged(version, now);
+
+        ToDoObj saved = toDoService.save(task);
+        taskListService.adjustCounts(taskList.getId(), 1, 0, version);
+        publish(user, version, ChangeEvent.Kind.TASK, ChangeEvent.Action.UPSERTED, List.of(saved.getId()));
 
-        return toDoService.save(task);
+        return saved;
+    }
+
+    /**
+     * Creates many tasks in one list within one transaction, as batched JDBC inserts.
+     */
+    @Transactional
+    public TaskBulkCreateResponse createTasks(List<String> descriptions, Long taskListId, User user)
+    {
+        requireValidUser(user);
+
+        if ( (descriptions == null) || (descriptions.isEmpty()) )
+        {
+            throw new BadRequestException("At least one task description is required.");
+        }
+
+        if (descriptions.size() > maxBulkCreateSize)
+        {
+            throw new BadRequestException("A bulk request may create at most " + maxBulkCreateSize + " tasks.");
+        }
+
+        if ( ! taskListService.isOwnedBy(taskListId, user.getId()))
+        {
+            throw new TaskListNotFoundException("Task list with ID " + taskListId + " not found.");
+        }
+
+        long version = changeVersions.bump(user.getId());
+        List<Long> created = toDoService.insertAll(taskListId, user.getId(), descriptions, LocalDateTime.now(), version);
+        taskListService.adjustCounts(taskListId, created.size(), 0, version);
+        publish(user, version, ChangeEvent.Kind.TASK, ChangeEvent.Action.UPSERTED, created);
+
+        return new TaskBulkCreateResponse(taskListId, created.size());
     }
 
     //Update a task...
-    public ToDoObj updateTask(Integer taskId, TaskUpdateRequest request, User user)
+    @Transactional
+    public ToDoObj updateTask(Long taskId, TaskUpdateRequest request, Long expectedVersion, User user)
     {
+        if ( (expectedVersion == null) && (request.getDescription() == null) && (request.getCompleted() != null) )
+        {
+            //A plain toggle is one owner-scoped UPDATE; no need to load and dirty-check the row first.
+            //It only matches when the flag flips, so zero rows is either "not found" or "no change".
+            requireValidUser(user);
+
+            long version = changeVersions.bump(user.getId());
+            boolean flipped = toDoService.updateCompleted(taskId, user.getId(), request.getCompleted(),
+                    version, LocalDateTime.now()) == 1;
+            ToDoObj task = findTaskForUser(taskId, user);
+
+            if (flipped)
+            {
+                taskListService.adjustCounts(task.getTaskList().getId(), 0, request.getCompleted() ? 1 : -1, version);
+                publish(user, version, ChangeEvent.Kind.TASK, ChangeEvent.Action.UPSERTED, List.of(taskId));
+            }
+
+            return task;
+        }
+
+        //A concurrent writer that commits after this read still fails the @Version check on flush.
         ToDoObj task = findTaskForUser(taskId, user);
+        requireVersion(expectedVersion, task.getVersion());
+        long version = changeVersions.bump(user.getId());
+
+        if (request.getCompleted() != null)
+        {
+            //The counter follows the row count of a conditional UPDATE, not the flag as this transaction read it,
+            //so two writers completing the same task move the counter once. It runs before any field is set:
+            //the flush ahead of it must not write (and version) the entity early.
+            if (toDoService.flipCompleted(taskId, user.getId(), request.getCompleted()) == 1)
+            {
+                taskListService.adjustCounts(task.getTaskList().getId(), 0, request.getCompleted() ? 1 : -1, version);
+            }
+
+            task.setCompleted(request.getCompleted());
+        }
 
         if (request.getDescription() != null)
         {
             task.setDescription(request.getDescription());
         }
 
-        if (request.getCompleted() != null)
+        task.markChanged(version, LocalDateTime.now());
+        ToDoObj saved = toDoService.save(task);
+
+        publish(user, version, ChangeEvent.Kind.TASK, ChangeEvent.Action.UPSERTED, List.of(taskId));
+        return saved;
+    }
+
+    @Transactional
+    public void deleteTask(Long taskId, User user)
+    {
+        requireValidUser(user);
+
+        //The bump comes first, as in every write, and the task is read locked after it:
+        //a toggle that commits before the DELETE would otherwise leave the completed count off by one.
+        long version = changeVersions.bump(user.getId());
+        TaskDTO task = toDoService.lockOwnedSummary(taskId, user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Task not found."));
+
+        if (toDoService.deleteOwned(taskId, user.getId(), task.getTaskListId()) == 0)
         {
-            task.setCompleted(request.getCompleted());
+            throw new EntityNotFoundException("Task not found.");
         }
 
-        return toDoService.save(task);
+        tombstoneService.recordDeleted(user.getId(), Tombstone.Kind.TASK, List.of(taskId), version);
+        taskListService.adjustCounts(task.getTaskListId(), -1, task.isCompleted() ? -1 : 0, version);
+        publish(user, version, ChangeEvent.Kind.TASK, ChangeEvent.Action.DELETED, List.of(taskId));
     }
 
-    public void deleteTask(Integer taskId, User user)
+    /**
+     * Marks many tasks complete or incomplete. However many ids are sent, the tasks
+     * cost three statements: one SELECT finds the caller's tasks and their lists, one
+     * owner-scoped UPDATE writes them and one UPDATE recounts those lists. Bumping the
+     * user's change version adds two more. Ids that are missing or owned by someone
+     * else are reported as not found.
+     */
+    @Transactional
+    public TaskBatchResponse updateTasksCompleted(List<Long> taskIds, Boolean completed, User user)
     {
         requireValidUser(user);
-        ToDoObj task = toDoService.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found."));
-        assertOwnership(task.getUser(), user);
-        toDoService.delete(task);
+
+        if (completed == null)
+        {
+            throw new BadRequestException("Completed flag is required.");
+        }
+
+        Set<Long> ids = requireValidBatch(taskIds);
+        List<OwnedTask> found = toDoService.findOwned(ids, user.getId());
+        List<Long> owned = found.stream().map(OwnedTask::id).toList();
+        int affected = 0;
+
+        if ( ! owned.isEmpty())
+        {
+            long version = changeVersions.bump(user.getId());
+            List<Long> listIds = found.stream().map(OwnedTask::taskListId).distinct().toList();
+            affected = toDoService.updateCompleted(owned, user.getId(), completed, version, LocalDateTime.now());
+            taskListService.recountByIds(listIds, version); //Few lists, any number of tasks: recount rather than diff.
+            publish(user, version, ChangeEvent.Kind.TASK, ChangeEvent.Action.UPSERTED, owned);
+        }
+
+        return batchResponse(ids, owned, affected, TaskBatchResponse.Status.UPDATED);
     }
 
-    private TaskList getOrCreateDefaultTaskList(User user)
+    /**
+     * Deletes many tasks, with the same three statements as
+     * {@link #updateTasksCompleted(List, Boolean, User)} (the write being an owner-scoped
+     * DELETE) and the change version bump, plus the tombstone INSERT, one JDBC batch
+     * per {@code app.jpa.batch-size} deleted tasks.
+     * Ids that are missing or owned by someone else are reported as not found.
+     */
+    @Transactional
+    public TaskBatchResponse deleteTasks(List<Long> taskIds, User user)
     {
-        return taskListService.findDefaultByUser(user)
-                .orElseGet(() -> {
-                    TaskList list = new TaskList();
-                    list.setName("Default Task List");
-                    list.setUser(user);
-                    list.setDefault(true);
-                    return taskListService.save(list);
-                });
+        requireValidUser(user);
+
+        Set<Long> ids = requireValidBatch(taskIds);
+        List<OwnedTask> found = toDoService.findOwned(ids, user.getId());
+        List<Long> owned = found.stream().map(OwnedTask::id).toList();
+        int affected = 0;
+
+        if ( ! owned.isEmpty())
+        {
+            long version = changeVersions.bump(user.getId());
+            List<Long> listIds = found.stream().map(OwnedTask::taskListId).distinct().toList();
+            affected = toDoService.deleteOwned(owned, user.getId(), listIds);
+            tombstoneService.recordDeleted(user.getId(), Tombstone.Kind.TASK, owned, version);
+            taskListService.recountByIds(listIds, version);
+            publish(user, version, ChangeEvent.Kind.TASK, ChangeEvent.Action.DELETED, owned);
+        }
+
+        return batchResponse(ids, owned, affected, TaskBatchResponse.Status.DELETED);
     }
 
-    private TaskList getOwnedTaskList(Integer taskListId, User user)
+    private Set<Long> requireValidBatch(List<Long> taskIds)
     {
-        TaskList taskList = taskListService.findById(taskListId)
+        if ( (taskIds == null) || (taskIds.isEmpty()) )
+        {
+            throw new BadRequestException("At least one task id is required.");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(taskIds); //Drop duplicates, keep request order.
+        ids.remove(null);
+
+        if (ids.size() > maxBatchSize)
+        {
+            throw new BadRequestException("A batch may name at most " + maxBatchSize + " tasks.");
+        }
+
+        return ids;
+    }
+
+    private static TaskBatchResponse batchResponse(Set<Long> ids, List<Long> owned, int affected,
+                                                   TaskBatchResponse.Status status)
+    {
+        Set<Long> found = new HashSet<>(owned);
+        List<TaskBatchResponse.Outcome> results = new ArrayList<>(ids.size());
+
+        for (Long id : ids)
+        {
+            results.add(new TaskBatchResponse.Outcome(id, found.contains(id) ? status : TaskBatchResponse.Status.NOT_FOUND));
+        }
+
+        return new TaskBatchResponse(affected, results);
+    }
+
+    //Delivered to the user's open streams once the surrounding transaction commits.
+    private void publish(User user, long version, ChangeEvent.Kind kind, ChangeEvent.Action action, List<Long> ids)
+    {
+        events.publishEvent(new ChangeEvent(user.getId(), version, kind, action, ids));
+    }
+
+    private TaskList newDefaultTaskList(User user, long version)
+    {
+        TaskList list = new TaskList();
+        list.setName("Default Task List");
+        list.setUser(user);
+        list.setDefault(true);
+        list.markChanged(version, LocalDateTime.now());
+        return taskListService.save(list);
+    }
+
+    //Lists owned by someone else are reported exactly like missing ones.
+    private TaskList getOwnedTaskList(Long taskListId, User user)
+    {
+        return taskListService.findOwnedById(taskListId, user.getId())
                 .orElseThrow(() ->
                         new TaskListNotFoundException("Task list with ID " + taskListId + " not found.")
                 );
-
-        assertOwnership(taskList.getUser(), user);
-        return taskList;
     }
 
-    private ToDoObj findTaskForUser(Integer taskId, User user)
+    private ToDoObj findTaskForUser(Long taskId, User user)
     {
         requireValidUser(user);
 
-        ToDoObj task = toDoService.findById(taskId)
+        return toDoService.findOwnedById(taskId, user.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Task not found!"));
-
-        assertOwnership(task.getUser(), user);
-
-        return task;
     }
 
-    private void assertOwnership(User owner, User actor)
+    private void requireVersion(Long expectedVersion, Long currentVersion)
     {
-        if ( ! owner.getId().equals(actor.getId()))
+        if ( (expectedVersion != null) && ( ! expectedVersion.equals(currentVersion)) )
         {
-            throw new RuntimeException("Unauthorized access!");
+            throw new PreconditionFailedException("This item has changed since it was read. Reload it and try again.");
         }
     }
 
@@ -243,12 +646,12 @@ public class ToDoApplicationService
     {
         if ( (name == null) || (name.isBlank()) )
         {
-            throw new IllegalArgumentException("Name cannot be empty!");
+            throw new BadRequestException("Name cannot be empty!");
         }
 
         if (name.length() > 255)
         {
-            throw new IllegalArgumentException("Task list name is too long!");
+            throw new BadRequestException("Task list name is too long!");
         }
     }
 }
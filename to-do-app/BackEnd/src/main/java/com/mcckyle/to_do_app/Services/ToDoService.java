@@ -9,11 +9,22 @@
 
 package com.mcckyle.to_do_app.Services;
 
+import com.mcckyle.to_do_app.cache.SecondLevelCacheEvictor;
+import com.mcckyle.to_do_app.Data.ToDoBulkRepository;
+import com.mcckyle.to_do_app.Data.ToDoJdbcRepository;
 import com.mcckyle.to_do_app.Data.ToDoRepository;
 import com.mcckyle.to_do_app.Models.TaskList;
 import com.mcckyle.to_do_app.Models.ToDoObj;
 import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.payload.OwnedTask;
+import com.mcckyle.to_do_app.payload.TaskChange;
+import com.mcckyle.to_do_app.payload.TaskDTO;
+import com.mcckyle.to_do_app.payload.TaskQuery;
+import com.mcckyle.to_do_app.payload.TaskResponse;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,9 +34,16 @@ import java.util.Optional;
 public class ToDoService
 {
     private final ToDoRepository toDoRepository;
+    private final ToDoBulkRepository toDoBulkRepository;
+    private final ToDoJdbcRepository toDoJdbcRepository;
+    private final SecondLevelCacheEvictor cacheEvictor;
 
-    public ToDoService(ToDoRepository toDoRepository) {
+    public ToDoService(ToDoRepository toDoRepository, ToDoBulkRepository toDoBulkRepository,
+                       ToDoJdbcRepository toDoJdbcRepository, SecondLevelCacheEvictor cacheEvictor) {
         this.toDoRepository = toDoRepository;
+        this.toDoBulkRepository = toDoBulkRepository;
+        this.toDoJdbcRepository = toDoJdbcRepository;
+        this.cacheEvictor = cacheEvictor;
     }
 
     public ToDoObj save(ToDoObj task)
@@ -33,11 +51,85 @@ public class ToDoService
         return toDoRepository.save(task);
     }
 
-    public Optional<ToDoObj> findById(Integer id)
+    //Returns the ids of the rows written.
+    public List<Long> insertAll(Long taskListId, Long userId, List<String> descriptions, LocalDateTime createdAt, long version)
+    {
+        List<Long> ids = toDoBulkRepository.insertTasks(taskListId, userId, descriptions, createdAt, version);
+        cacheEvictor.evictTasks(taskListId); //Plain JDBC: Hibernate never saw these rows join the list.
+        return ids;
+    }
+
+    public Optional<ToDoObj> findById(Long id)
     {
         return toDoRepository.findById(id);
     }
 
+    public Optional<ToDoObj> findOwnedById(Long id, Long userId)
+    {
+        return toDoRepository.findByIdAndUserId(id, userId);
+    }
+
+    //Returns the number of rows changed: 0 means "not found, not yours, or already in that state".
+    //No eviction: the task stays in its list, and tasks themselves are not cached.
+    public int updateCompleted(Long id, Long userId, Boolean completed, long version, LocalDateTime now)
+    {
+        return toDoJdbcRepository.updateCompleted(id, userId, completed, version, now);
+    }
+
+    //Sets only the flag, leaving the version to the entity save that follows.
+    //Returns 1 when the stored flag actually flipped, which is what the list counter must follow.
+    public int flipCompleted(Long id, Long userId, Boolean completed)
+    {
+        return toDoJdbcRepository.flipCompleted(id, userId, completed);
+    }
+
+    //Returns the number of rows removed: 0 means "not found or not yours".
+    public int deleteOwned(Long id, Long userId, Long taskListId)
+    {
+        int deleted = toDoJdbcRepository.delete(id, userId);
+        cacheEvictor.evictTasks(taskListId); //Plain JDBC: Hibernate never saw the task leave the list.
+        return deleted;
+    }
+
+    public List<OwnedTask> findOwned(Collection<Long> ids, Long userId)
+    {
+        return toDoRepository.findOwned(ids, userId);
+    }
+
+    public List<Long> findIdsByTaskList(Long taskListId)
+    {
+        return toDoRepository.findIdsByTaskListId(taskListId);
+    }
+
+    public List<TaskChange> findChangesSince(Long userId, long since)
+    {
+        return toDoRepository.findChangesSince(userId, since);
+    }
+
+    public Optional<TaskDTO> findOwnedSummary(Long id, Long userId)
+    {
+        return toDoRepository.findSummaryByIdAndUserId(id, userId);
+    }
+
+    //As above, but row-locked until commit, for a caller about to remove the task.
+    public Optional<TaskDTO> lockOwnedSummary(Long id, Long userId)
+    {
+        return toDoJdbcRepository.lockSummary(id, userId);
+    }
+
+    public int updateCompleted(Collection<Long> ids, Long userId, Boolean completed, long version, LocalDateTime now)
+    {
+        return toDoJdbcRepository.updateCompleted(ids, userId, completed, version, now);
+    }
+
+    //taskListIds are the lists the tasks are in, whose cached task ids go.
+    public int deleteOwned(Collection<Long> ids, Long userId, Collection<Long> taskListIds)
+    {
+        int deleted = toDoJdbcRepository.delete(ids, userId);
+        cacheEvictor.evictTasks(taskListIds);
+        return deleted;
+    }
+
     public List<ToDoObj> findByUser(User user)
     {
         return toDoRepository.findByUser(user);
@@ -48,6 +140,21 @@ public class ToDoService
         return toDoRepository.findByTaskList(taskList);
     }
 
+    public List<TaskDTO> findSummariesByUser(Long userId)
+    {
+        return toDoRepository.findSummariesByUserId(userId);
+    }
+
+    public List<TaskDTO> findSummariesByTaskList(Long taskListId)
+    {
+        return toDoRepository.findSummariesByTaskListId(taskListId);
+    }
+
+    public Slice<TaskResponse> findResponses(TaskQuery query, Long userId, Integer limit)
+    {
+        return toDoRepository.findResponses(query, userId, limit);
+    }
+
     public void delete(ToDoObj task)
     {
         toDoRepository.delete(task);
@@ -0,0 +1,52 @@
+//***************************************************************************************
+//
+//     Filename: TombstoneService.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file records and reads the tombstones of deleted tasks and lists.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.Services;
+
+import com.mcckyle.to_do_app.Data.TombstoneRepository;
+import com.mcckyle.to_do_app.Models.Tombstone;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+//***************************************************************************************
+
+@Service
+public class TombstoneService
+{
+    private final TombstoneRepository tombstoneRepository;
+
+    public TombstoneService(TombstoneRepository tombstoneRepository)
+    {
+        this.tombstoneRepository = tombstoneRepository;
+    }
+
+    //Call in the same transaction as the delete.
+    public void recordDeleted(Long userId, Tombstone.Kind kind, Collection<Long> ids, long version)
+    {
+        LocalDateTime now = LocalDateTime.now();
+        List<Tombstone> tombstones = new ArrayList<>(ids.size());
+
+        for (Long id : ids)
+        {
+            tombstones.add(new Tombstone(userId, kind, id, version, now));
+        }
+
+        tombstoneRepository.saveAll(tombstones);
+    }
+
+    public List<Long> findDeletedIds(Long userId, Tombstone.Kind kind, long since)
+    {
+        return tombstoneRepository.findEntityIdsSince(userId, kind, since);
+    }
+}
+
+//***************************************************************************************
@@ -9,12 +9,16 @@
 
 package com.mcckyle.to_do_app.Services;
 
+import com.mcckyle.to_do_app.Models.Role;
 import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.Models.UserRole;
 import com.mcckyle.to_do_app.Data.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 //***************************************************************************************
 
@@ -23,18 +27,40 @@ public class UserRetrievalHelper
 {
     private final UserRepository userRepository;
 
+    //"mask": roles come from users.role_mask, so a user is one primary-key row.
+    //"join": roles come from user_roles, fetched with the user in one query.
+    //users.role_mask is mapped and written in both modes, so the role_mask migration is required in both.
+    private final boolean maskRoles;
+
     @Autowired
-    public UserRetrievalHelper(UserRepository userRepository) {
+    public UserRetrievalHelper(UserRepository userRepository,
+                               @Value("${app.security.role-storage:join}") String roleStorage) {
         this.userRepository = userRepository;
+        this.maskRoles = "mask".equalsIgnoreCase(roleStorage.trim());
+    }
+
+    public boolean isMaskRoles() {
+        return maskRoles;
     }
 
-    public User loadUserById(Integer id) throws UsernameNotFoundException {
-        return userRepository.findById(id)
+    public User loadUserById(Long id) throws UsernameNotFoundException {
+        return (maskRoles ? userRepository.findById(id) : userRepository.findWithRolesById(id))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with ID: " + id));
     }
 
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return maskRoles ? userRepository.findByEmail(email) : userRepository.findWithRolesByEmail(email);
+    }
+
+    //Only for users loaded through this helper: in join mode their roles were fetched with them.
+    public int roleMaskOf(User user) {
+        if (maskRoles) {
+            return user.getRoleMask();
+        }
+
+        return UserRole.maskOf(user.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toSet()));
     }
 }
 
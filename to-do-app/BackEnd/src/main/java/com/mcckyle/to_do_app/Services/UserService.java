@@ -13,15 +13,24 @@ import com.mcckyle.to_do_app.Data.RoleRepository;
 import com.mcckyle.to_do_app.Data.UserRepository;
 import com.mcckyle.to_do_app.Models.Role;
 import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.Models.UserRole;
 import com.mcckyle.to_do_app.payload.UserRegistrationDTO;
+import com.mcckyle.to_do_app.security.TokenVersionRegistry;
+import com.mcckyle.to_do_app.security.UserDetailsServiceImpl;
 import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 //***************************************************************************************
 
@@ -31,15 +40,36 @@ public class UserService implements UserRetrievalService
     private UserRepository userRepository;
     private RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionRegistry tokenVersions;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final UserRetrievalHelper userRetrievalHelper;
+
+    private static final List<String> DEFAULT_ROLES = List.of("ROLE_USER", "ROLE_ADMIN");
+
+    //Loaded once by initRoles(); roles are never renamed or removed at runtime, so registration never reads them.
+    private final Map<String, Role> rolesByName = new ConcurrentHashMap<>();
 
     @Autowired
-    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder)
+    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                       TokenVersionRegistry tokenVersions, UserDetailsServiceImpl userDetailsService,
+                       UserRetrievalHelper userRetrievalHelper)
     {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersions = tokenVersions;
+        this.userDetailsService = userDetailsService;
+        this.userRetrievalHelper = userRetrievalHelper;
     }
 
+    /**
+     * Inserts the user (and its user_roles row, unless roles are stored as a mask).
+     * Taken usernames and emails are turned away by two indexed lookups before the
+     * password is hashed, so a duplicate never pays for a hash; the unique keys on
+     * username and email catch the two simultaneous sign-ups that can still slip
+     * past them. The insert is flushed here so that race fails inside this call,
+     * with the same message.
+     */
     @Transactional
     public User registerUser(UserRegistrationDTO registrationDTO)
     {
@@ -54,27 +84,40 @@ public class UserService implements UserRetrievalService
             throw new RuntimeException("Error: Email is already in use!");
         }
 
+        String hashed = passwordEncoder.encode(registrationDTO.getPassword());
+
         //Create the new user.
         User user = new User(
                 registrationDTO.getUsername(),
                 registrationDTO.getEmail(),
-                passwordEncoder.encode(registrationDTO.getPassword())
+                hashed
         );
 
         //Assign roles - by default, every user gets "ROLE_USER".
-        Role userRole = roleRepository.findByName("ROLE_USER");
-        if (userRole == null)
+        user.setRoleMask(UserRole.ROLE_USER.bit());
+
+        if ( ! userRetrievalHelper.isMaskRoles())
         {
-            //If "ROLE_USER" doesn't exist, create it.
-            userRole = new Role("ROLE_USER");
-            roleRepository.save(userRole);
+            Set<Role> roles = new HashSet<>();
+            roles.add(requireRole("ROLE_USER"));
+            user.setRoles(roles);
         }
 
-        Set<Role> roles = new HashSet<>();
-        roles.add(userRole);
-        user.setRoles(roles);
+        try
+        {
+            return userRepository.saveAndFlush(user);
+        }
+        catch (DataIntegrityViolationException e)
+        {
+            String duplicate = duplicateMessage(e);
 
-        return userRepository.save(user);
+            if (duplicate == null)
+            {
+                throw e; //Not a duplicate, e.g. a value too long for its column.
+            }
+
+            throw new RuntimeException(duplicate, e);
+        }
     }
 
     @Override
@@ -82,42 +125,89 @@ public class UserService implements UserRetrievalService
         return userRepository.findByUsername(username);
     }
 
-    public Optional<User> findById(Integer id) {
+    public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
-    @Transactional
     @PostConstruct
     public void initRoles()
     {
-        //Check if roles are already in the database.
-        if (roleRepository.count() == 0)
+        for (String name : DEFAULT_ROLES)
         {
-            //Creating default roles if not present.
-            Role roleUser = new Role("ROLE_USER");
-            Role roleAdmin = new Role("ROLE_ADMIN");
-            roleRepository.save(roleUser);
-            roleRepository.save(roleAdmin);
+            Role role = roleRepository.findByName(name);
+
+            if (role == null)
+            {
+                //Creating default roles if not present.
+                role = roleRepository.save(new Role(name));
+            }
+
+            rolesByName.put(name, role);
         }
     }
 
-    public boolean userExists(Integer userId)
+    public User saveProfile(User user)
+    {
+        User saved = userRepository.save(user);
+        userDetailsService.evictUser(saved.getId()); //Cached principals carry username, email and bio.
+        return saved;
+    }
+
+    public boolean userExists(Long userId)
     {
         return userRepository.existsById(userId);
     }
 
-    public void updatePassword(Integer userId, String newPassword)
+    public void updatePassword(Long userId, String newPassword)
     {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found."));
 
         String hashed = passwordEncoder.encode(newPassword);
         user.setPassword(hashed);
+        user.setTokenVersion(user.getTokenVersion() + 1); //Retire tokens issued for the old password.
 
         userRepository.save(user);
+        tokenVersions.update(userId, user.getTokenVersion());
+        userDetailsService.evictUser(userId);
+    }
+
+    private Role requireRole(String name)
+    {
+        Role role = rolesByName.get(name);
+
+        if (role == null)
+        {
+            throw new IllegalStateException("Role " + name + " was not loaded at startup.");
+        }
+
+        return role;
+    }
+
+    //Maps a unique key violation back to the message the exists-checks give, or null for any other violation.
+    private static String duplicateMessage(DataIntegrityViolationException e)
+    {
+        String constraint = (e.getCause() instanceof ConstraintViolationException violation)
+                ? violation.getConstraintName()
+                : null;
+        String detail = (constraint != null) ? constraint : String.valueOf(e.getMostSpecificCause().getMessage());
+
+        detail = detail.toLowerCase(Locale.ROOT);
+
+        if (detail.contains(User.EMAIL_UNIQUE_KEY))
+        {
+            return "Error: Email is already in use!";
+        }
+
+        if (detail.contains(User.USERNAME_UNIQUE_KEY))
+        {
+            return "Error: Username is already taken!";
+        }
+
+        return null;
     }
 
-    public void deleteUserAccount(Integer userId)
+    public void deleteUserAccount(Long userId)
     {
         if ( ! userRepository.existsById(userId))
         {
@@ -125,6 +215,8 @@ public class UserService implements UserRetrievalService
         }
 
         userRepository.deleteById(userId);
+        tokenVersions.revoke(userId);
+        userDetailsService.evictUser(userId);
     }
 }
 
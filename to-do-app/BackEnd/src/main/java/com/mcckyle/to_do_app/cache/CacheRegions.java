@@ -0,0 +1,35 @@
+//***************************************************************************************
+//
+//     Filename: CacheRegions.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file names the Hibernate second-level cache regions.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.cache;
+
+import java.util.List;
+
+//***************************************************************************************
+
+/**
+ * One region per cached entity or collection, each created up front with its own
+ * bounds by {@link SecondLevelCacheConfig}. A new {@code @Cache} needs its region
+ * listed here, or the application will not start.
+ */
+public final class CacheRegions
+{
+    public static final String USERS = "users";
+    public static final String ROLES = "roles";
+    public static final String TASK_LISTS = "task-lists";
+    public static final String TASK_LIST_TASKS = "task-lists.tasks";
+
+    public static final List<String> ALL = List.of(USERS, ROLES, TASK_LISTS, TASK_LIST_TASKS);
+
+    private CacheRegions()
+    {
+    }
+}
+
+//***************************************************************************************
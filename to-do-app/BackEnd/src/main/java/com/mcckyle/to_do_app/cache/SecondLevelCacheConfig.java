@@ -0,0 +1,101 @@
+//***************************************************************************************
+//
+//     Filename: SecondLevelCacheConfig.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file configures Hibernate's second-level cache.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+//***************************************************************************************
+
+/**
+ * Hibernate's second-level cache over in-process Caffeine caches (through JCache),
+ * for the rows read on nearly every request and rarely written: users, roles, task
+ * lists and the task ids of each list. Regions are bounded by
+ * {@code app.jpa.second-level-cache.max-entries} and {@code ttl}; the TTL only
+ * limits how long a row written outside this application can stay stale.
+ * <p>
+ * Writes through Hibernate keep the regions current: entity changes update them, and
+ * {@code hibernate.cache.auto_evict_collection_cache} drops a list's cached task ids
+ * when a task is added, moved or removed without going through the list. A bulk
+ * HQL statement would drop every region it touches, for every user, so the
+ * row-scoped writes (counters, task toggles and deletes, change versions, rehashes)
+ * and the bulk insert run as plain JDBC and evict just the rows they wrote
+ * ({@link SecondLevelCacheEvictor}). Only the whole-table recount is still HQL.
+ * </p>
+ * <p>
+ * Per-region statistics are served at {@code /actuator/hibernatecache}; Hibernate
+ * only collects them while that endpoint is switched on.
+ * </p>
+ */
+@Configuration
+public class SecondLevelCacheConfig
+{
+    //Each context gets its own manager, so two application contexts in one JVM (as in tests) never share regions.
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${app.jpa.second-level-cache.max-entries:10000}") long maxEntries,
+                                                @Value("${app.jpa.second-level-cache.ttl:30m}") Duration ttl)
+    {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("second-level-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : CacheRegions.ALL)
+        {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuration.setStoreByValue(false); //Hibernate already stores disassembled, immutable entries.
+
+            cacheManager.createCache(region, configuration);
+        }
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager,
+                                                                    @Value("${app.jpa.second-level-cache.enabled:true}") boolean enabled)
+    {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+
+            if (enabled)
+            {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+                properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            }
+        };
+    }
+
+    //Statistics cost every session a little, so they are only collected for the endpoint that serves them.
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = SecondLevelCacheEndpoint.class)
+    public HibernatePropertiesCustomizer secondLevelCacheStatisticsCustomizer()
+    {
+        return properties -> properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, true);
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,108 @@
+//***************************************************************************************
+//
+//     Filename: SecondLevelCacheEndpoint.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file serves second-level cache statistics over actuator.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//***************************************************************************************
+
+/**
+ * <pre>
+ * GET /actuator/hibernatecache         every region
+ * GET /actuator/hibernatecache/{name}  one region, e.g. task-lists
+ *
+ * { "task-lists": { "hits": 940, "misses": 60, "puts": 60, "entries": 41, "hitRatio": 0.94 }, ... }
+ * </pre>
+ * Hits, misses and puts count from startup; {@code entries} is the region's current
+ * size as Caffeine estimates it (evicted and expired rows have left).
+ * <p>
+ * Off by default, since its counts need Hibernate statistics, which cost every
+ * session a little. Turn it on, and with it the statistics
+ * ({@link SecondLevelCacheConfig}), with
+ * {@code management.endpoint.hibernatecache.access=read-only}, and expose it with
+ * {@code management.endpoints.web.exposure.include}.
+ * </p>
+ */
+@Component
+@Endpoint(id = "hibernatecache", defaultAccess = Access.NONE)
+@ConditionalOnAvailableEndpoint(endpoint = SecondLevelCacheEndpoint.class)
+public class SecondLevelCacheEndpoint
+{
+    private final Statistics statistics;
+    private final CacheManager cacheManager;
+
+    public SecondLevelCacheEndpoint(EntityManagerFactory entityManagerFactory, CacheManager secondLevelCacheManager)
+    {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.cacheManager = secondLevelCacheManager;
+    }
+
+    @ReadOperation
+    public Map<String, RegionStatistics> regions()
+    {
+        Map<String, RegionStatistics> regions = new LinkedHashMap<>();
+
+        for (String region : CacheRegions.ALL)
+        {
+            regions.put(region, region(region));
+        }
+
+        return regions;
+    }
+
+    @ReadOperation
+    public RegionStatistics region(@Selector String name)
+    {
+        if ( ! CacheRegions.ALL.contains(name))
+        {
+            return null; //404
+        }
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+
+        if (region == null)
+        {
+            return null; //Cache switched off (app.jpa.second-level-cache.enabled=false).
+        }
+
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+
+        return new RegionStatistics(hits, misses, region.getPutCount(), entries(name),
+                (hits + misses == 0) ? 0.0 : (double) hits / (hits + misses));
+    }
+
+    //Hibernate's own count is Long.MIN_VALUE for JCache regions, so ask Caffeine.
+    private long entries(String name)
+    {
+        Cache<Object, Object> cache = cacheManager.getCache(name);
+
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+
+    public record RegionStatistics(long hits, long misses, long puts, long entries, double hitRatio)
+    {
+    }
+}
+
+//***************************************************************************************
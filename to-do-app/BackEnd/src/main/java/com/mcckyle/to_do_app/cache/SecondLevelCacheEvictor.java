@@ -0,0 +1,86 @@
+//***************************************************************************************
+//
+//     Filename: SecondLevelCacheEvictor.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file evicts cached rows that were written around Hibernate.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.cache;
+
+import com.mcckyle.to_do_app.Models.TaskList;
+import com.mcckyle.to_do_app.Models.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.List;
+
+//***************************************************************************************
+
+/**
+ * For writes Hibernate never sees (plain JDBC). Evicts right away, so the rest of the
+ * transaction reads the database, and again once it completes, in case another
+ * request cached the old rows in between. Only the named entries go: unlike a bulk
+ * HQL statement, which drops every region it touches, one user's write leaves every
+ * other user's cached rows in place.
+ */
+@Component
+public class SecondLevelCacheEvictor
+{
+    private static final String TASKS_ROLE = "com.mcckyle.to_do_app.Models.TaskList.tasks";
+
+    private final Cache cache;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory)
+    {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    //The list's cached task ids, after tasks were inserted into it or removed from it directly.
+    public void evictTasks(Long taskListId)
+    {
+        evictNowAndAfterCompletion(() -> cache.evictCollectionData(TASKS_ROLE, taskListId));
+    }
+
+    public void evictTasks(Collection<Long> taskListIds)
+    {
+        List<Long> ids = List.copyOf(taskListIds);
+        evictNowAndAfterCompletion(() -> ids.forEach(id -> cache.evictCollectionData(TASKS_ROLE, id)));
+    }
+
+    //Cached lists carry their counters and change version.
+    public void evictTaskLists(Collection<Long> taskListIds)
+    {
+        List<Long> ids = List.copyOf(taskListIds);
+        evictNowAndAfterCompletion(() -> ids.forEach(id -> cache.evictEntityData(TaskList.class, id)));
+    }
+
+    public void evictUser(Long userId)
+    {
+        evictNowAndAfterCompletion(() -> cache.evictEntityData(User.class, userId));
+    }
+
+    private static void evictNowAndAfterCompletion(Runnable eviction)
+    {
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,47 @@
+//***************************************************************************************
+//
+//     Filename: IdGeneratorConfig.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file applies the configured node id to the id generator.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.ids;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//***************************************************************************************
+
+/**
+ * Every running instance must use its own {@code app.ids.node-id} (0 to 15), or two
+ * instances could hand out the same id in the same millisecond.
+ * <p>
+ * Now that ids are known before the INSERT, Hibernate is also told to batch
+ * inserts and updates, unless {@code spring.jpa.properties} already says otherwise.
+ * </p>
+ */
+@Configuration
+public class IdGeneratorConfig
+{
+    public IdGeneratorConfig(@Value("${app.ids.node-id:0}") int nodeId)
+    {
+        TimeOrderedIds.configureShared(nodeId);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${app.jpa.batch-size:50}") int batchSize)
+    {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,31 @@
+//***************************************************************************************
+//
+//     Filename: TimeOrderedId.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file declares the time-ordered entity id annotation.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.ids;
+
+import org.hibernate.annotations.IdGeneratorType;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//***************************************************************************************
+
+/**
+ * Marks a {@code Long} {@code @Id} whose value is assigned in-process by
+ * {@link TimeOrderedIds} before the INSERT, instead of by the database.
+ */
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimeOrderedId
+{
+}
+
+//***************************************************************************************
@@ -0,0 +1,40 @@
+//***************************************************************************************
+//
+//     Filename: TimeOrderedIdGenerator.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file adapts TimeOrderedIds to a Hibernate identifier generator.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.ids;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import java.util.EnumSet;
+
+//***************************************************************************************
+
+/**
+ * Hibernate side of {@link TimeOrderedId}. Because the id is known before the
+ * INSERT runs, Hibernate no longer needs a round trip per row to read it back
+ * and can batch inserts.
+ */
+public class TimeOrderedIdGenerator implements BeforeExecutionGenerator
+{
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType)
+    {
+        return TimeOrderedIds.shared().next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes()
+    {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
+
+//***************************************************************************************
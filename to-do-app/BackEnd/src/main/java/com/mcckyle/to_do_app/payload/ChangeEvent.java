@@ -0,0 +1,82 @@
+//***************************************************************************************
+//
+//     Filename: ChangeEvent.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the layout of a pushed task or list change.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.List;
+
+//***************************************************************************************
+
+/**
+ * One committed change to a user's tasks or lists, published by
+ * {@code ToDoApplicationService} and pushed to that user's open
+ * {@code GET /api/todos/stream} connections. {@code version} is the change
+ * version it was committed in, so a client that missed events can catch up
+ * with {@code GET /api/todos/changes?since=}.
+ */
+public class ChangeEvent
+{
+    public enum Kind
+    {
+        TASK,
+        LIST
+    }
+
+    public enum Action
+    {
+        UPSERTED,
+        DELETED
+    }
+
+    @JsonIgnore
+    private final Long userId;
+
+    private final long version;
+    private final Kind kind;
+    private final Action action;
+    private final List<Long> ids;
+
+    public ChangeEvent(Long userId, long version, Kind kind, Action action, List<Long> ids)
+    {
+        this.userId = userId;
+        this.version = version;
+        this.kind = kind;
+        this.action = action;
+        this.ids = ids;
+    }
+
+    // Getters
+    public Long getUserId()
+    {
+        return userId;
+    }
+
+    public long getVersion()
+    {
+        return version;
+    }
+
+    public Kind getKind()
+    {
+        return kind;
+    }
+
+    public Action getAction()
+    {
+        return action;
+    }
+
+    public List<Long> getIds()
+    {
+        return ids;
+    }
+}
+
+//***************************************************************************************
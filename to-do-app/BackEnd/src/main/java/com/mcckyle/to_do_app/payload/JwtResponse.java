@@ -20,13 +20,13 @@ import java.util.stream.Collectors;
 public class JwtResponse
 {
     private String token;
-    private Integer id;
+    private Long id;
     private String username;
     private String email;
     private List<String> roles;  // List of roles as Strings...
 
     //Constructor...
-    public JwtResponse(String token, Integer id, String username,
+    public JwtResponse(String token, Long id, String username,
                        String email, Collection<? extends GrantedAuthority> authorities)
     {
         this.token = token;
@@ -39,12 +39,12 @@ public class JwtResponse
     }
 
     // Getters and setters...
-    public Integer getId()
+    public Long getId()
     {
         return id;
     }
 
-    public void setId(Integer id)
+    public void setId(Long id)
     {
         this.id = id;
     }
@@ -0,0 +1,23 @@
+//***************************************************************************************
+//
+//     Filename: OwnedTask.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the id pair a batch write needs for each task.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+//***************************************************************************************
+
+/**
+ * A task the caller owns and the list it is in: enough for a batch write to
+ * report per-id outcomes and recount the lists it touched.
+ */
+public record OwnedTask(Long id, Long taskListId)
+{
+
+}
+
+//***************************************************************************************
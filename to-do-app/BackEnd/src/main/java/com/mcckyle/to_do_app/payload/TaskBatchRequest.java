@@ -0,0 +1,43 @@
+//***************************************************************************************
+//
+//     Filename: TaskBatchRequest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the layout for the batch task requests.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+import java.util.List;
+
+//***************************************************************************************
+
+public class TaskBatchRequest
+{
+    private List<Long> taskIds;
+    private Boolean completed; //Only used by PATCH /api/todos/batch.
+
+    // Getters and setters
+    public List<Long> getTaskIds()
+    {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<Long> taskIds)
+    {
+        this.taskIds = taskIds;
+    }
+
+    public Boolean getCompleted()
+    {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed)
+    {
+        this.completed = completed;
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,72 @@
+//***************************************************************************************
+//
+//     Filename: TaskBatchResponse.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the layout for the batch task responses.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+import java.util.List;
+
+//***************************************************************************************
+
+/**
+ * Outcome of a batch task operation: how many rows changed, and what happened
+ * to each requested id, in request order.
+ */
+public class TaskBatchResponse
+{
+    public enum Status
+    {
+        UPDATED,
+        DELETED,
+        NOT_FOUND //Missing, or owned by someone else.
+    }
+
+    public static class Outcome
+    {
+        private final Long id;
+        private final Status status;
+
+        public Outcome(Long id, Status status)
+        {
+            this.id = id;
+            this.status = status;
+        }
+
+        public Long getId()
+        {
+            return id;
+        }
+
+        public Status getStatus()
+        {
+            return status;
+        }
+    }
+
+    private final int affected;
+    private final List<Outcome> results;
+
+    public TaskBatchResponse(int affected, List<Outcome> results)
+    {
+        this.affected = affected;
+        this.results = results;
+    }
+
+    // Getters
+    public int getAffected()
+    {
+        return affected;
+    }
+
+    public List<Outcome> getResults()
+    {
+        return results;
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,43 @@
+//***************************************************************************************
+//
+//     Filename: TaskBulkCreateRequest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the layout for the bulk task creation requests.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+import java.util.List;
+
+//***************************************************************************************
+
+public class TaskBulkCreateRequest
+{
+    private Long taskListId;
+    private List<String> descriptions;
+
+    // Getters and setters
+    public Long getTaskListId()
+    {
+        return taskListId;
+    }
+
+    public void setTaskListId(Long taskListId)
+    {
+        this.taskListId = taskListId;
+    }
+
+    public List<String> getDescriptions()
+    {
+        return descriptions;
+    }
+
+    public void setDescriptions(List<String> descriptions)
+    {
+        this.descriptions = descriptions;
+    }
+}
+
+//***************************************************************************************
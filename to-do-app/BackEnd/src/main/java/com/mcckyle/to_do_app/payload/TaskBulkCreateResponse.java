@@ -0,0 +1,37 @@
+//***************************************************************************************
+//
+//     Filename: TaskBulkCreateResponse.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the layout for the bulk task creation responses.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+//***************************************************************************************
+
+public class TaskBulkCreateResponse
+{
+    private final Long taskListId;
+    private final int created;
+
+    public TaskBulkCreateResponse(Long taskListId, int created)
+    {
+        this.taskListId = taskListId;
+        this.created = created;
+    }
+
+    // Getters
+    public Long getTaskListId()
+    {
+        return taskListId;
+    }
+
+    public int getCreated()
+    {
+        return created;
+    }
+}
+
+//***************************************************************************************
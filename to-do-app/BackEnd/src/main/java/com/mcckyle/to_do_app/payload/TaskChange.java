@@ -0,0 +1,79 @@
+//***************************************************************************************
+//
+//     Filename: TaskChange.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the read-only layout of a task in a delta sync.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+import java.time.LocalDateTime;
+
+//***************************************************************************************
+
+/**
+ * A created or updated task as sent by {@code GET /api/todos/changes}. Unlike
+ * {@link TaskResponse} it names its list, since changes span every list.
+ */
+public class TaskChange
+{
+    private final Long id;
+    private final Long taskListId;
+    private final String description;
+    private final Boolean completed;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long version;
+
+    public TaskChange(Long id, Long taskListId, String description, Boolean completed,
+                      LocalDateTime createdAt, LocalDateTime updatedAt, Long version)
+    {
+        this.id = id;
+        this.taskListId = taskListId;
+        this.description = description;
+        this.completed = completed;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    // Getters
+    public Long getId()
+    {
+        return id;
+    }
+
+    public Long getTaskListId()
+    {
+        return taskListId;
+    }
+
+    public String getDescription()
+    {
+        return description;
+    }
+
+    public Boolean getCompleted()
+    {
+        return completed;
+    }
+
+    public LocalDateTime getCreatedAt()
+    {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt()
+    {
+        return updatedAt;
+    }
+
+    public Long getVersion()
+    {
+        return version;
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,66 @@
+//***************************************************************************************
+//
+//     Filename: TaskChangesResponse.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the layout of the delta sync response.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+import java.util.List;
+
+//***************************************************************************************
+
+/**
+ * Everything that changed for a user since a cursor. Lists and tasks are
+ * upserts (created or updated); the deleted ids are to be dropped. Pass
+ * {@code cursor} as the next {@code since}.
+ */
+public class TaskChangesResponse
+{
+    private final long cursor;
+    private final List<TaskListSummary> lists;
+    private final List<TaskChange> tasks;
+    private final List<Long> deletedListIds;
+    private final List<Long> deletedTaskIds;
+
+    public TaskChangesResponse(long cursor, List<TaskListSummary> lists, List<TaskChange> tasks,
+                               List<Long> deletedListIds, List<Long> deletedTaskIds)
+    {
+        this.cursor = cursor;
+        this.lists = lists;
+        this.tasks = tasks;
+        this.deletedListIds = deletedListIds;
+        this.deletedTaskIds = deletedTaskIds;
+    }
+
+    // Getters
+    public long getCursor()
+    {
+        return cursor;
+    }
+
+    public List<TaskListSummary> getLists()
+    {
+        return lists;
+    }
+
+    public List<TaskChange> getTasks()
+    {
+        return tasks;
+    }
+
+    public List<Long> getDeletedListIds()
+    {
+        return deletedListIds;
+    }
+
+    public List<Long> getDeletedTaskIds()
+    {
+        return deletedTaskIds;
+    }
+}
+
+//***************************************************************************************
@@ -13,16 +13,16 @@ package com.mcckyle.to_do_app.payload;
 
 public class TaskCreateRequest
 {
-    private Integer taskListId;
+    private Long taskListId;
     private String description;
 
     // Getters and setters
-    public Integer getTaskListId()
+    public Long getTaskListId()
     {
         return taskListId;
     }
 
-    public void setTaskListId(Integer taskListId)
+    public void setTaskListId(Long taskListId)
     {
         this.taskListId = taskListId;
     }
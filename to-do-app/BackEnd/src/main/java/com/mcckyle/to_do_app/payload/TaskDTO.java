@@ -9,30 +9,46 @@
 
 package com.mcckyle.to_do_app.payload;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mcckyle.to_do_app.Models.ToDoObj;
 
 //***************************************************************************************
 
 public class TaskDTO
 {
-    private Integer id;
+    private Long id;
     private String title;
     private boolean completed;
+    private Long version;
+
+    @JsonIgnore
+    private Long taskListId; //Only used to group projected rows by list.
 
     public TaskDTO(ToDoObj task)
     {
         this.id = task.getId();
         this.title = task.getDescription();
         this.completed = task.getCompleted();
+        this.version = task.getVersion();
+    }
+
+    //Projection constructor, used by JPQL "select new" queries.
+    public TaskDTO(Long id, String title, Boolean completed, Long taskListId, Long version)
+    {
+        this.id = id;
+        this.title = title;
+        this.completed = Boolean.TRUE.equals(completed);
+        this.taskListId = taskListId;
+        this.version = version;
     }
 
     // Getters and setters
 
-    public Integer getId() {
+    public Long getId() {
         return id;
     }
 
-    public void setId(Integer id) {
+    public void setId(Long id) {
         this.id = id;
     }
 
@@ -51,6 +67,14 @@ public class TaskDTO
     public void setCompleted(boolean completed) {
         this.completed = completed;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getTaskListId() {
+        return taskListId;
+    }
 }
 
 //***************************************************************************************
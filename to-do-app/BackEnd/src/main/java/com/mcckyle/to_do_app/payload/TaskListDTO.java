@@ -12,6 +12,7 @@ package com.mcckyle.to_do_app.payload;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mcckyle.to_do_app.Models.TaskList;
 import com.mcckyle.to_do_app.Models.ToDoObj;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,12 +20,13 @@ import java.util.stream.Collectors;
 
 public class TaskListDTO
 {
-    private Integer id;
+    private Long id;
     private String name;
     private boolean deleted;
 
     @JsonProperty("isDefault")
     private boolean isDefault;
+    private Long version;
     private List<TaskDTO> tasks;
 
     public TaskListDTO(TaskList taskList, List<ToDoObj> tasks)
@@ -33,17 +35,29 @@ public class TaskListDTO
         this.name = taskList.getName();
         this.deleted = taskList.isDeleted();
         this.isDefault = taskList.isDefault();
+        this.version = taskList.getVersion();
         this.tasks = tasks.stream()
                 .map(TaskDTO::new) // Convert tasks to DTOs
                 .collect(Collectors.toList());
     }
 
+    //Projection constructor, used by JPQL "select new" queries; tasks are filled in afterwards.
+    public TaskListDTO(Long id, String name, Boolean deleted, Boolean isDefault, Long version)
+    {
+        this.id = id;
+        this.name = name;
+        this.deleted = Boolean.TRUE.equals(deleted);
+        this.isDefault = Boolean.TRUE.equals(isDefault);
+        this.version = version;
+        this.tasks = new ArrayList<>();
+    }
+
     // Getters and setters
-    public Integer getId() {
+    public Long getId() {
         return id;
     }
 
-    public void setId(Integer id) {
+    public void setId(Long id) {
         this.id = id;
     }
 
@@ -71,6 +85,10 @@ public class TaskListDTO
         isDefault = aDefault;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public List<TaskDTO> getTasks() {
         return tasks;
     }
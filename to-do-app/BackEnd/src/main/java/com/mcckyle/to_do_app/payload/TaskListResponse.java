@@ -13,7 +13,7 @@ package com.mcckyle.to_do_app.payload;
 
 public class TaskListResponse
 {
-    private Integer id;
+    private Long id;
     private String name;
 
     //Default constructor...
@@ -23,19 +23,19 @@ public class TaskListResponse
     }
 
     // Constructor with parameters...
-    public TaskListResponse(Integer id, String name)
+    public TaskListResponse(Long id, String name)
     {
         this.id = id;
         this.name = name;
     }
 
     // Getters and Setters
-    public Integer getId()
+    public Long getId()
     {
         return id;
     }
 
-    public void setId(Integer id)
+    public void setId(Long id)
     {
         this.id = id;
     }
@@ -0,0 +1,82 @@
+//***************************************************************************************
+//
+//     Filename: TaskListSummary.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the read-only layout for task list summaries.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+//***************************************************************************************
+
+/**
+ * What the sidebar needs to show a list ("3 of 12 done") without any of its tasks.
+ * The counts are read from the counter columns on {@code task_lists}.
+ */
+public class TaskListSummary
+{
+    private final Long id;
+    private final String name;
+    private final boolean deleted;
+
+    @JsonProperty("isDefault")
+    private final boolean isDefault;
+
+    private final int taskCount;
+    private final int completedCount;
+    private final Long version;
+
+    public TaskListSummary(Long id, String name, Boolean deleted, Boolean isDefault, Integer taskCount, Integer completedCount,
+                           Long version)
+    {
+        this.id = id;
+        this.name = name;
+        this.deleted = Boolean.TRUE.equals(deleted);
+        this.isDefault = Boolean.TRUE.equals(isDefault);
+        this.taskCount = (taskCount == null) ? 0 : taskCount;
+        this.completedCount = (completedCount == null) ? 0 : completedCount;
+        this.version = version;
+    }
+
+    // Getters
+    public Long getId()
+    {
+        return id;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public boolean isDeleted()
+    {
+        return deleted;
+    }
+
+    public boolean isDefault()
+    {
+        return isDefault;
+    }
+
+    public int getTaskCount()
+    {
+        return taskCount;
+    }
+
+    public int getCompletedCount()
+    {
+        return completedCount;
+    }
+
+    public Long getVersion()
+    {
+        return version;
+    }
+}
+
+//***************************************************************************************
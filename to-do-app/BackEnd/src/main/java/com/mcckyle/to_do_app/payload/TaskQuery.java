@@ -0,0 +1,195 @@
+//***************************************************************************************
+//
+//     Filename: TaskQuery.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file holds the filter, sort and page options of a task read.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+import com.mcckyle.to_do_app.Exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+//***************************************************************************************
+
+/**
+ * Options for reading the tasks of one list. Every filter is optional;
+ * {@code null} means "do not filter on this".
+ * <p>
+ * The page cursor carries everything needed to resume: the id of the last task
+ * seen and, for a non-id sort, its sort key as {@code <key>:<id>} (the key
+ * base64url-encoded, {@code ~} for none). Paging never reads that task again,
+ * so it keeps working after the task is deleted or edited.
+ * </p>
+ */
+public class TaskQuery
+{
+    /** Sort keys accepted by {@code ?sort=}. Ties (and the default) are broken by id. */
+    public enum Sort
+    {
+        ID("id"),
+        CREATED_AT("createdAt"),
+        DESCRIPTION("description");
+
+        private final String param;
+
+        Sort(String param)
+        {
+            this.param = param;
+        }
+
+        public String getParam()
+        {
+            return param;
+        }
+
+        public static Sort fromParam(String param)
+        {
+            if ( (param == null) || (param.isBlank()) )
+            {
+                return ID;
+            }
+
+            for (Sort sort : values())
+            {
+                if (sort.param.equals(param))
+                {
+                    return sort;
+                }
+            }
+
+            throw new BadRequestException("Unsupported sort: " + param + ". Use createdAt or description.");
+        }
+    }
+
+    private final Long taskListId;
+    private final Boolean completed;
+    private final LocalDateTime createdAfter;  //Inclusive.
+    private final LocalDateTime createdBefore; //Exclusive.
+    private final Sort sort;
+    private final Long after;               //Keyset cursor: id of the last task already seen...
+    private final Object afterKey;          //...and its sort key, unused when sorting by id.
+
+    private static final String NO_KEY = "~";
+
+    public TaskQuery(Long taskListId, Boolean completed, LocalDateTime createdAfter,
+                     LocalDateTime createdBefore, Sort sort, String cursor)
+    {
+        this.taskListId = taskListId;
+        this.completed = completed;
+        this.createdAfter = createdAfter;
+        this.createdBefore = createdBefore;
+        this.sort = (sort == null) ? Sort.ID : sort;
+
+        if ( (cursor == null) || (cursor.isBlank()) )
+        {
+            this.after = null;
+            this.afterKey = null;
+        }
+        else if (this.sort == Sort.ID)
+        {
+            this.after = parseId(cursor);
+            this.afterKey = null;
+        }
+        else
+        {
+            int separator = cursor.lastIndexOf(':');
+
+            if (separator < 0)
+            {
+                throw new BadRequestException("This cursor is not for sort=" + this.sort.getParam() + ". Start again from the first page.");
+            }
+
+            this.afterKey = parseKey(cursor.substring(0, separator));
+            this.after = parseId(cursor.substring(separator + 1));
+        }
+    }
+
+    //The cursor to resume after the given task, the last one of a page.
+    public String nextCursor(TaskResponse last)
+    {
+        if (sort == Sort.ID)
+        {
+            return String.valueOf(last.getId());
+        }
+
+        Object key = (sort == Sort.CREATED_AT) ? last.getCreatedAt() : last.getDescription();
+        String encoded = (key == null) ? NO_KEY
+                : Base64.getUrlEncoder().withoutPadding().encodeToString(key.toString().getBytes(StandardCharsets.UTF_8));
+
+        return encoded + ":" + last.getId();
+    }
+
+    private static Long parseId(String id)
+    {
+        try
+        {
+            return Long.valueOf(id);
+        }
+        catch (NumberFormatException e)
+        {
+            throw new BadRequestException("Malformed cursor.");
+        }
+    }
+
+    private Object parseKey(String encoded)
+    {
+        if (encoded.equals(NO_KEY))
+        {
+            return null;
+        }
+
+        try
+        {
+            String key = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            return (sort == Sort.CREATED_AT) ? LocalDateTime.parse(key) : key;
+        }
+        catch (IllegalArgumentException | DateTimeParseException e)
+        {
+            throw new BadRequestException("Malformed cursor.");
+        }
+    }
+
+    // Getters
+    public Long getTaskListId()
+    {
+        return taskListId;
+    }
+
+    public Boolean getCompleted()
+    {
+        return completed;
+    }
+
+    public LocalDateTime getCreatedAfter()
+    {
+        return createdAfter;
+    }
+
+    public LocalDateTime getCreatedBefore()
+    {
+        return createdBefore;
+    }
+
+    public Sort getSort()
+    {
+        return sort;
+    }
+
+    public Long getAfter()
+    {
+        return after;
+    }
+
+    public Object getAfterKey()
+    {
+        return afterKey;
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,64 @@
+//***************************************************************************************
+//
+//     Filename: TaskResponse.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file contains the read-only layout for the task responses.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.payload;
+
+import java.time.LocalDateTime;
+
+//***************************************************************************************
+
+/**
+ * Read-only view of a task, selected straight from the database by a JPQL
+ * constructor expression. Serializes to the same JSON as a {@code ToDoObj}.
+ */
+public class TaskResponse
+{
+    private final Long id;
+    private final String description;
+    private final Boolean completed;
+    private final LocalDateTime createdAt;
+    private final Long version;
+
+    public TaskResponse(Long id, String description, Boolean completed, LocalDateTime createdAt, Long version)
+    {
+        this.id = id;
+        this.description = description;
+        this.completed = completed;
+        this.createdAt = createdAt;
+        this.version = version;
+    }
+
+    // Getters
+    public Long getId()
+    {
+        return id;
+    }
+
+    public String getDescription()
+    {
+        return description;
+    }
+
+    public Boolean getCompleted()
+    {
+        return completed;
+    }
+
+    public LocalDateTime getCreatedAt()
+    {
+        return createdAt;
+    }
+
+    public Long getVersion()
+    {
+        return version;
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,156 @@
+//***************************************************************************************
+//
+//     Filename: AuthRateLimiter.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file throttles sign-in and registration attempts.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.mcckyle.to_do_app.Exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//***************************************************************************************
+
+/**
+ * Token buckets in front of {@code /api/auth/signin} and {@code /api/auth/register},
+ * which are open to anyone and cost a full password hash each. Every attempt takes a
+ * token from the client IP's bucket and then from the email's bucket; an empty bucket
+ * is a 429 with {@code Retry-After}, before any hashing is done.
+ * <p>
+ * Each bucket is one {@link AtomicLong} holding the time it will next be full
+ * (the GCRA form of a token bucket), updated by compare-and-set, so attempts never
+ * lock and buckets for different keys never contend. Buckets live in bounded
+ * Caffeine maps and are dropped once idle long enough to have refilled, at which
+ * point forgetting them changes nothing. Rejections are counted in
+ * {@code auth.ratelimit.rejected}, tagged by key type and endpoint.
+ * </p>
+ * <p>
+ * The IP is {@code request.getRemoteAddr()}. Behind a reverse proxy that is the
+ * proxy's address, so every client shares one bucket, unless
+ * {@code server.forward-headers-strategy} is set to take it from
+ * {@code X-Forwarded-For} (see the README).
+ * </p>
+ */
+@Component
+public class AuthRateLimiter
+{
+    public static final String SIGN_IN = "signin";
+    public static final String REGISTER = "register";
+
+    private final boolean enabled;
+    private final Ticker ticker;
+    private final Limit byIp;
+    private final Limit byEmail;
+
+    @Autowired
+    public AuthRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${app.security.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.security.rate-limit.ip.capacity:20}") int ipCapacity,
+                           @Value("${app.security.rate-limit.ip.refill-every:3s}") Duration ipRefill,
+                           @Value("${app.security.rate-limit.email.capacity:5}") int emailCapacity,
+                           @Value("${app.security.rate-limit.email.refill-every:20s}") Duration emailRefill,
+                           @Value("${app.security.rate-limit.max-keys:100000}") long maxKeys)
+    {
+        this(meterRegistry, Ticker.systemTicker(), enabled, ipCapacity, ipRefill, emailCapacity, emailRefill, maxKeys);
+    }
+
+    public AuthRateLimiter(MeterRegistry meterRegistry, Ticker ticker, boolean enabled,
+                           int ipCapacity, Duration ipRefill, int emailCapacity, Duration emailRefill, long maxKeys)
+    {
+        this.enabled = enabled;
+        this.ticker = ticker;
+        this.byIp = new Limit("ip", ipCapacity, ipRefill, maxKeys, meterRegistry);
+        this.byEmail = new Limit("email", emailCapacity, emailRefill, maxKeys, meterRegistry);
+    }
+
+    /**
+     * Takes one attempt for this client and email, or throws {@link TooManyRequestsException}.
+     *
+     * @param endpoint {@link #SIGN_IN} or {@link #REGISTER}, for the rejection counter
+     * @param clientIp the caller's address ({@code server.forward-headers-strategy} decides whether proxies are trusted)
+     * @param email    the account being tried; may be null
+     */
+    public void acquire(String endpoint, String clientIp, String email)
+    {
+        if ( ! enabled)
+        {
+            return;
+        }
+
+        byIp.acquire(endpoint, clientIp);
+
+        if (email != null)
+        {
+            byEmail.acquire(endpoint, email.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private final class Limit
+    {
+        private final String keyType;
+        private final long interval; //Nanos to earn back one token.
+        private final long burst;    //Nanos of credit a full bucket holds.
+        private final Cache<String, AtomicLong> buckets;
+        private final MeterRegistry meterRegistry;
+
+        private Limit(String keyType, int capacity, Duration refillEvery, long maxKeys, MeterRegistry meterRegistry)
+        {
+            this.keyType = keyType;
+            this.interval = refillEvery.toNanos();
+            this.burst = interval * capacity;
+            this.meterRegistry = meterRegistry;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(burst, TimeUnit.NANOSECONDS) //Refilled by then.
+                    .ticker(ticker)
+                    .build();
+        }
+
+        private void acquire(String endpoint, String key)
+        {
+            AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+
+            while (true)
+            {
+                long now = ticker.read();
+                long current = fullAt.get();
+                long next = Math.max(current, now) + interval;
+
+                if (next - now > burst)
+                {
+                    Counter.builder("auth.ratelimit.rejected")
+                            .description("Sign-in and registration attempts turned away by the rate limiter")
+                            .tag("key", keyType)
+                            .tag("endpoint", endpoint)
+                            .register(meterRegistry)
+                            .increment();
+
+                    long waitNanos = next - now - burst;
+                    throw new TooManyRequestsException("Too many attempts. Please wait and try again.",
+                            Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+                }
+
+                if (fullAt.compareAndSet(current, next))
+                {
+                    return;
+                }
+            }
+        }
+    }
+}
+
+//***************************************************************************************
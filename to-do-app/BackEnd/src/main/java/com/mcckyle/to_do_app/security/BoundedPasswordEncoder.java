@@ -0,0 +1,138 @@
+//***************************************************************************************
+//
+//     Filename: BoundedPasswordEncoder.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file runs password hashing on its own bounded thread pool.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.security;
+
+import com.mcckyle.to_do_app.Exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+//***************************************************************************************
+
+/**
+ * Wraps the real {@link PasswordEncoder} so every hash and match runs on a small
+ * pool sized to the CPU, behind a bounded queue. A hash costs on the order of
+ * 100 ms of CPU; run on request threads, a burst of sign-ins could take every
+ * one of them and stall the cheap task reads. Here at most {@code threads}
+ * hashes run at once, at most {@code queueCapacity} more wait, and any further
+ * caller is turned away at once with {@link TooManyRequestsException} (429 with
+ * {@code Retry-After}). Because this is the encoder bean, registration, password
+ * changes and the {@code AuthenticationManager} sign-in all go through it.
+ * <p>
+ * Metrics: {@code auth.hashing.queue.depth}, {@code auth.hashing.wait} (time
+ * spent queued) and {@code auth.hashing.rejected}.
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder
+{
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  long retryAfterSeconds, MeterRegistry meterRegistry)
+    {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.hashing.wait")
+                .description("Time a password hash waited in the queue")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.hashing.rejected")
+                .description("Password hashes turned away because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword)
+    {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword)
+    {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    //Only inspects the stored hash, so it stays on the caller's thread.
+    @Override
+    public boolean upgradeEncoding(String encodedPassword)
+    {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> work)
+    {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+
+        try
+        {
+            result = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return work.call();
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many sign-in requests right now. Please try again shortly.", retryAfterSeconds);
+        }
+
+        try
+        {
+            return result.get();
+        }
+        catch (InterruptedException e)
+        {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash.", e);
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException cause)
+            {
+                throw cause;
+            }
+
+            throw new IllegalStateException("Password hashing failed.", e.getCause());
+        }
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,38 @@
+//***************************************************************************************
+//
+//     Filename: CurrentUser.java
+//     Author: Kyle McColgan
+//     Date: 17 October 2026
+//     Description: This file declares the authenticated-user controller parameter marker.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//***************************************************************************************
+
+/**
+ * Marks a {@link com.mcckyle.to_do_app.Models.User} controller parameter that
+ * should receive the authenticated user.
+ * <p>
+ * The value is an uninitialized JPA reference built from the principal's id, so
+ * it is fine as a foreign key or for {@code getId()} comparisons but touches the
+ * database as soon as any other property is read.
+ * </p>
+ *
+ * @see CurrentUserArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser
+{
+}
+
+//***************************************************************************************
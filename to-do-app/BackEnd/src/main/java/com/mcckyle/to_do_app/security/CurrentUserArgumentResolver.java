@@ -0,0 +1,66 @@
+//***************************************************************************************
+//
+//     Filename: CurrentUserArgumentResolver.java
+//     Author: Kyle McColgan
+//     Date: 17 October 2026
+//     Description: This file resolves @CurrentUser parameters to a lazy User reference.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.security;
+
+import com.mcckyle.to_do_app.Data.UserRepository;
+import com.mcckyle.to_do_app.Models.User;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+//***************************************************************************************
+
+/**
+ * Supplies {@link CurrentUser} parameters from the authenticated {@link UserDetailsImpl}.
+ * <p>
+ * The principal has already been authenticated by {@link JwtAuthenticationFilter},
+ * so the user is handed out via {@code getReferenceById} rather than re-read
+ * with a SELECT on every request.
+ * </p>
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver
+{
+    private final UserRepository userRepository;
+
+    public CurrentUserArgumentResolver(UserRepository userRepository)
+    {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter)
+    {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && User.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory)
+    {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if ( (authentication == null) || ( ! (authentication.getPrincipal() instanceof UserDetailsImpl principal)) )
+        {
+            throw new AuthenticationCredentialsNotFoundException("User not found!");
+        }
+
+        return userRepository.getReferenceById(principal.getId());
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,86 @@
+//***************************************************************************************
+//
+//     Filename: HashCostCalibrator.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file picks password hashing work factors by timing this host.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.Duration;
+
+//***************************************************************************************
+
+/**
+ * Chooses the highest work factor whose hash still fits in a target latency on
+ * this machine, never going below the OWASP floors. One probe cost is timed
+ * (best of a few runs, after a warm-up) and the rest are extrapolated: each
+ * BCrypt strength step doubles the time, Argon2 time grows linearly with
+ * iterations.
+ */
+public final class HashCostCalibrator
+{
+    public static final int MIN_BCRYPT_STRENGTH = 10;
+    public static final int MAX_BCRYPT_STRENGTH = 16;
+    public static final int MIN_ARGON2_ITERATIONS = 2;
+    public static final int MAX_ARGON2_ITERATIONS = 16;
+
+    public static final int ARGON2_SALT_LENGTH = 16;
+    public static final int ARGON2_HASH_LENGTH = 32;
+    public static final int ARGON2_PARALLELISM = 1;
+
+    private static final int RUNS = 3;
+
+    private HashCostCalibrator()
+    {
+    }
+
+    public static int bcryptStrength(Duration target)
+    {
+        double probeNanos = time(new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH));
+        int steps = (int) Math.floor(Math.log(target.toNanos() / probeNanos) / Math.log(2));
+
+        return clamp(MIN_BCRYPT_STRENGTH + steps, MIN_BCRYPT_STRENGTH, MAX_BCRYPT_STRENGTH);
+    }
+
+    public static int argon2Iterations(Duration target, int memoryKib)
+    {
+        double probeNanos = time(argon2(memoryKib, MIN_ARGON2_ITERATIONS));
+        int iterations = (int) Math.floor(target.toNanos() / (probeNanos / MIN_ARGON2_ITERATIONS));
+
+        return clamp(iterations, MIN_ARGON2_ITERATIONS, MAX_ARGON2_ITERATIONS);
+    }
+
+    public static Argon2PasswordEncoder argon2(int memoryKib, int iterations)
+    {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM, memoryKib, iterations);
+    }
+
+    //Best of a few runs: the fastest one is the least disturbed by GC and other work.
+    private static double time(PasswordEncoder encoder)
+    {
+        encoder.encode("calibration-warm-up");
+        long best = Long.MAX_VALUE;
+
+        for (int i = 0; i < RUNS; i++)
+        {
+            long started = System.nanoTime();
+            encoder.encode("calibration-password");
+            best = Math.min(best, System.nanoTime() - started);
+        }
+
+        return Math.max(best, 1);
+    }
+
+    private static int clamp(int value, int min, int max)
+    {
+        return Math.max(min, Math.min(max, value));
+    }
+}
+
+//***************************************************************************************
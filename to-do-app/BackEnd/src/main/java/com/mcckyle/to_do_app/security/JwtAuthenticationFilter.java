@@ -9,12 +9,15 @@
 
 package com.mcckyle.to_do_app.security;
 
+import com.mcckyle.to_do_app.security.jwt.JwtTokenCache;
 import com.mcckyle.to_do_app.security.jwt.JwtUtils;
+import com.mcckyle.to_do_app.security.jwt.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -28,12 +31,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter
 {
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
+    private final JwtTokenCache tokenCache;
+    private final TokenVersionRegistry tokenVersions;
+
+    //When true, the principal is built from token claims instead of the users table.
+    private final boolean statelessAuth;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService)
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService,
+                                   JwtTokenCache tokenCache, TokenVersionRegistry tokenVersions,
+                                   @Value("${app.security.stateless-auth:false}") boolean statelessAuth)
     {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.tokenCache = tokenCache;
+        this.tokenVersions = tokenVersions;
+        this.statelessAuth = statelessAuth;
     }
 
     @Override
@@ -53,25 +66,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter
             throws ServletException, IOException
     {
         String authHeader = request.getHeader("Authorization");
-        System.out.println("Authorization header: " + authHeader);
 
         if ( (authHeader != null) && (authHeader.startsWith("Bearer ")) )
         {
             String jwt = authHeader.substring(7); // Remove the "Bearer " prefix.
-            System.out.println("JWT received: " + jwt);
-            System.out.println("JWT valid? " + jwtUtils.validateJwtToken(jwt));
+            VerifiedToken verified = verifyToken(jwt);
 
-            if (jwtUtils.validateJwtToken(jwt))
+            if (verified != null)
             {
-                Integer userId = jwtUtils.getUserIdFromJwtToken(jwt);
-                //System.out.println("Token validated, userId: " + userId);
-
-                if ( (userId != null) && ( SecurityContextHolder.getContext().getAuthentication() == null) )
+                if (SecurityContextHolder.getContext().getAuthentication() == null)
                 {
+                    if ( (statelessAuth) && ( ! tokenVersions.isCurrent(verified.userId(), verified.tokenVersion())) )
+                    {
+                        response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Session has been revoked. Please log in again.");
+                        return;
+                    }
+
                     try
                     {
-                        // Use UserDetailsService to load user details
-                        UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserById(userId);
+                        // Build the principal from the token, or load it through the UserDetailsService.
+                        UserDetailsImpl userDetails = statelessAuth
+                                ? UserDetailsImpl.fromToken(verified)
+                                : (UserDetailsImpl) userDetailsService.loadUserById(verified.userId());
 
                         // Create authentication token and set it in the context
                         UsernamePasswordAuthenticationToken token =
@@ -97,6 +113,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter
         //Continue filter chain...
         filterChain.doFilter(request, response);
     }
+
+    //Verifies the token signature once, then serves repeats from the cache until it expires.
+    //Only access tokens are accepted here; refresh tokens are good at /api/auth/refresh alone.
+    private VerifiedToken verifyToken(String jwt)
+    {
+        VerifiedToken verified = tokenCache.get(jwt);
+
+        if (verified == null)
+        {
+            verified = jwtUtils.decodeAccessToken(jwt);
+            tokenCache.put(jwt, verified);
+        }
+
+        return verified;
+    }
 }
 
 //***************************************************************************************
\ No newline at end of file
@@ -0,0 +1,63 @@
+//***************************************************************************************
+//
+//     Filename: RoleAuthorities.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file maps a user's role mask to shared authority sets.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.security;
+
+import com.mcckyle.to_do_app.Models.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import java.util.HashSet;
+import java.util.Set;
+
+//***************************************************************************************
+
+/**
+ * With two roles there are only four possible authority sets, so all of them are
+ * built once and every principal shares one. The sets and the authorities in them
+ * are immutable, which is what makes sharing them safe.
+ */
+public final class RoleAuthorities
+{
+    private static final Set<GrantedAuthority> NONE = Set.of();
+    private static final Set<GrantedAuthority>[] BY_MASK = build();
+
+    private RoleAuthorities()
+    {
+    }
+
+    public static Set<GrantedAuthority> forMask(int mask)
+    {
+        return ( (mask > 0) && (mask < BY_MASK.length) ) ? BY_MASK[mask] : NONE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<GrantedAuthority>[] build()
+    {
+        Set<GrantedAuthority>[] byMask = new Set[UserRole.MASK_LIMIT];
+
+        for (int mask = 0; mask < byMask.length; mask++)
+        {
+            Set<GrantedAuthority> authorities = new HashSet<>();
+
+            for (UserRole role : UserRole.values())
+            {
+                if (role.isIn(mask))
+                {
+                    authorities.add(new SimpleGrantedAuthority(role.name()));
+                }
+            }
+
+            byMask[mask] = Set.copyOf(authorities);
+        }
+
+        return byMask;
+    }
+}
+
+//***************************************************************************************
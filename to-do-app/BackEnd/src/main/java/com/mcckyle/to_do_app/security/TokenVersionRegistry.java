@@ -0,0 +1,81 @@
+//***************************************************************************************
+//
+//     Filename: TokenVersionRegistry.java
+//     Author: Kyle McColgan
+//     Date: 17 October 2026
+//     Description: This file tracks the current token version of each user in memory.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.mcckyle.to_do_app.Data.UserRepository;
+import com.mcckyle.to_do_app.threads.LoadingCaches;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+//***************************************************************************************
+
+/**
+ * In-memory view of {@code users.token_version}, used to revoke tokens without
+ * a database round trip per request. A user is read from the database at most
+ * once per {@code app.security.token-version-ttl} (default 30s); password changes
+ * and account deletions on this instance update the entry directly.
+ * <p>
+ * Those updates only reach this instance's map. With several instances, a change
+ * made on another one is seen here once the entry expires, so the TTL is the
+ * longest a revoked stateless token stays usable elsewhere.
+ * </p>
+ */
+@Component
+public class TokenVersionRegistry
+{
+    //No issued token ever carries this version, so it rejects everything.
+    public static final int REVOKED = -1;
+
+    private final LoadingCache<Long, Integer> versions;
+
+    @Autowired
+    public TokenVersionRegistry(UserRepository userRepository,
+                                LoadingCaches loadingCaches,
+                                @Value("${app.security.token-version-cache-size:100000}") long maxEntries,
+                                @Value("${app.security.token-version-ttl:30s}") Duration ttl)
+    {
+        this(userRepository, loadingCaches, maxEntries, ttl, Ticker.systemTicker());
+    }
+
+    //Tests supply a ticker to move time forward.
+    public TokenVersionRegistry(UserRepository userRepository, LoadingCaches loadingCaches,
+                                long maxEntries, Duration ttl, Ticker ticker)
+    {
+        this.versions = loadingCaches.build(Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).ticker(ticker),
+                userId -> userRepository.findTokenVersionById(userId).orElse(REVOKED));
+    }
+
+    public int current(Long userId)
+    {
+        return versions.get(userId);
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion)
+    {
+        return current(userId) == tokenVersion;
+    }
+
+    public void update(Long userId, int tokenVersion)
+    {
+        versions.put(userId, tokenVersion);
+    }
+
+    public void revoke(Long userId)
+    {
+        versions.put(userId, REVOKED);
+    }
+}
+
+//***************************************************************************************
@@ -10,53 +10,79 @@
 package com.mcckyle.to_do_app.security;
 
 import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.Models.UserRole;
+import com.mcckyle.to_do_app.security.jwt.VerifiedToken;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 //***************************************************************************************
 
 public class UserDetailsImpl implements UserDetails
 {
-    private Integer id;
+    private Long id;
     private String username;
     private String email;
     private String password;
     private String bio;
+    private int tokenVersion;
     private Collection<? extends GrantedAuthority> authorities;
 
-    public UserDetailsImpl(Integer id, String username, String email, String password, String bio,
-                           Collection<? extends GrantedAuthority> authorities)
+    public UserDetailsImpl(Long id, String username, String email, String password, String bio,
+                           int tokenVersion, Collection<? extends GrantedAuthority> authorities)
     {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.bio = bio;
+        this.tokenVersion = tokenVersion;
         this.authorities = authorities;
     }
 
+    //Authorities from the user's role mask, which registration always sets (see UserDetailsServiceImpl for loaded users).
     public static UserDetailsImpl build(User user)
     {
-        // Map User roles to GrantedAuthorities.
-        Set<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName()))
-                .collect(Collectors.toSet());
+        return build(user, RoleAuthorities.forMask(user.getRoleMask()));
+    }
 
+    public static UserDetailsImpl build(User user, Collection<? extends GrantedAuthority> authorities)
+    {
         return new UserDetailsImpl(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
                 user.getBio(),
+                user.getTokenVersion(),
                 authorities
         );
     }
 
-    public Integer getId()
+    //Builds the principal from verified token claims alone (stateless mode).
+    //The token holds no password or bio, so both are left null.
+    public static UserDetailsImpl fromToken(VerifiedToken token)
+    {
+        Collection<GrantedAuthority> authorities = RoleAuthorities.forMask(UserRole.maskOf(token.roles()));
+
+        return new UserDetailsImpl(
+                token.userId(),
+                token.username(),
+                token.email(),
+                null,
+                null,
+                token.tokenVersion(),
+                authorities
+        );
+    }
+
+    //Same principal with a new stored hash (see UserDetailsServiceImpl.updatePassword).
+    public UserDetailsImpl withPassword(String password)
+    {
+        return new UserDetailsImpl(id, username, email, password, bio, tokenVersion, authorities);
+    }
+
+    public Long getId()
     {
         return id;
     }
@@ -83,6 +109,11 @@ public class UserDetailsImpl implements UserDetails
         return bio;
     }
 
+    public int getTokenVersion()
+    {
+        return tokenVersion;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities()
     {
@@ -9,29 +9,65 @@
 
 package com.mcckyle.to_do_app.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mcckyle.to_do_app.Data.UserJdbcRepository;
 import com.mcckyle.to_do_app.Models.User;
 import com.mcckyle.to_do_app.Services.UserRetrievalHelper;
+import com.mcckyle.to_do_app.cache.SecondLevelCacheEvictor;
+import com.mcckyle.to_do_app.threads.LoadingCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import java.util.Set;
-import java.util.stream.Collectors;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
 
 //***************************************************************************************
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService
 {
     private final UserRetrievalHelper userRetrievalHelper;
+    private final UserJdbcRepository userJdbcRepository;
+    private final SecondLevelCacheEvictor cacheEvictor;
+
+    //Built principals, one per user, shared by sign-in (email) and filtered requests (id).
+    private final Cache<Long, UserDetailsImpl> principalsById;
+
+    //Email -> user id, so sign-in finds the same principal. Entries are left behind when a user
+    //is evicted; one is only trusted while the principal it leads to still has that email.
+    private final Cache<String, Long> idsByEmail;
 
     @Autowired
-    public UserDetailsServiceImpl(UserRetrievalHelper userRetrievalHelper)
+    public UserDetailsServiceImpl(UserRetrievalHelper userRetrievalHelper,
+                                  UserJdbcRepository userJdbcRepository,
+                                  SecondLevelCacheEvictor cacheEvictor,
+                                  MeterRegistry meterRegistry,
+                                  LoadingCaches loadingCaches,
+                                  @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                                  @Value("${app.security.principal-cache.ttl:5m}") Duration ttl)
     {
         this.userRetrievalHelper = userRetrievalHelper;
+        this.userJdbcRepository = userJdbcRepository;
+        this.cacheEvictor = cacheEvictor;
+        this.principalsById = loadingCaches.build(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principalsById, "principals.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "principals.by-email");
     }
 
     @Override
@@ -39,38 +75,76 @@ public class UserDetailsServiceImpl implements UserDetailsService
     {
         //Need to change the parameter to email in gift planner backend also...
         //Authenticate with email to match AuthenticationController.authenticateUser()...
+        Long id = idsByEmail.getIfPresent(email);
+        UserDetailsImpl cached = (id != null) ? principalsById.getIfPresent(id) : null;
+
+        if ( (cached != null) && (email.equals(cached.getEmail())) )
+        {
+            return cached;
+        }
+
         User user = userRetrievalHelper.findByEmail(email) //Authenticate with email...
                 .orElseThrow(() ->
                         new UsernameNotFoundException("User not found with email: " + email));
 
-        return buildUserDetails(user);
+        UserDetailsImpl userDetails = buildUserDetails(user);
+        principalsById.put(userDetails.getId(), userDetails);
+        idsByEmail.put(email, userDetails.getId());
+        return userDetails;
     }
 
-    public UserDetails loadUserById(Integer id) throws UsernameNotFoundException
+    public UserDetails loadUserById(Long id) throws UsernameNotFoundException
     {
-        User user = userRetrievalHelper.loadUserById(id);
+        return principalsById.get(id, key -> {
+            User user = userRetrievalHelper.loadUserById(key);
 
-        if (user == null)
-        {
-            throw new UsernameNotFoundException("User not found with ID: " + id);
-        }
-        return buildUserDetails(user);
+            if (user == null)
+            {
+                throw new UsernameNotFoundException("User not found with ID: " + key);
+            }
+
+            UserDetailsImpl userDetails = buildUserDetails(user);
+
+            if (userDetails.getEmail() != null)
+            {
+                idsByEmail.put(userDetails.getEmail(), userDetails.getId());
+            }
+
+            return userDetails;
+        });
+    }
+
+    /**
+     * Called by the authentication provider right after a successful sign-in when
+     * the stored hash is in an older scheme or at a lower cost than the encoder now
+     * uses; {@code newPassword} is already the new hash of the same password. The
+     * returned principal becomes the signed-in one.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword)
+    {
+        UserDetailsImpl userDetails = (UserDetailsImpl) user;
+
+        userJdbcRepository.updatePasswordHash(userDetails.getId(), newPassword);
+        cacheEvictor.evictUser(userDetails.getId()); //Plain JDBC: the cached User row still has the old hash.
+        evictUser(userDetails.getId());
+
+        return userDetails.withPassword(newPassword);
+    }
+
+    /**
+     * Drops every cached principal for the given user. Must be called after any
+     * change to the user's credentials, roles, profile fields or existence.
+     */
+    public void evictUser(Long id)
+    {
+        principalsById.invalidate(id); //Its email index entry no longer leads anywhere (see idsByEmail).
     }
 
-    private UserDetails buildUserDetails(User user)
+    private UserDetailsImpl buildUserDetails(User user)
     {
-        Set<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName()))
-                .collect(Collectors.toSet());
-
-        return new UserDetailsImpl(
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getPassword(),
-                user.getBio(),
-                authorities
-        );
+        return UserDetailsImpl.build(user, RoleAuthorities.forMask(userRetrievalHelper.roleMaskOf(user)));
     }
 }
 
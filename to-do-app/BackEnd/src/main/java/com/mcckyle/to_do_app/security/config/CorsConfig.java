@@ -31,11 +31,14 @@ public class CorsConfig
                 "https://todo-backend-vnla.onrender.com" //Replace with real URL.
         ));
         corsConfig.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        corsConfig.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
+        corsConfig.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "If-None-Match", "If-Match"));
         corsConfig.setExposedHeaders(List.of(
                 "Set-Cookie",
                 "Authorization",
-                "Content-Type"
+                "Content-Type",
+                "X-Next-Cursor", //Keyset paging cursor on GET /api/todos/{taskListId}.
+                "ETag", //Change version on the task and list reads.
+                "Retry-After" //When to retry a 429.
         ));
         corsConfig.setAllowCredentials(true);
         corsConfig.setMaxAge(3600L);
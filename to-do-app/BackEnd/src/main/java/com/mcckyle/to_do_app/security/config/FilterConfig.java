@@ -10,8 +10,11 @@
 package com.mcckyle.to_do_app.security.config;
 
 import com.mcckyle.to_do_app.security.JwtAuthenticationFilter;
+import com.mcckyle.to_do_app.security.TokenVersionRegistry;
 import com.mcckyle.to_do_app.security.UserDetailsServiceImpl;
+import com.mcckyle.to_do_app.security.jwt.JwtTokenCache;
 import com.mcckyle.to_do_app.security.jwt.JwtUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -21,9 +24,11 @@ import org.springframework.context.annotation.Configuration;
 public class FilterConfig
 {
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService)
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService,
+                                                           JwtTokenCache tokenCache, TokenVersionRegistry tokenVersions,
+                                                           @Value("${app.security.stateless-auth:false}") boolean statelessAuth)
     {
-        return new JwtAuthenticationFilter(jwtUtils, userDetailsService);
+        return new JwtAuthenticationFilter(jwtUtils, userDetailsService, tokenCache, tokenVersions, statelessAuth);
     }
 }
 
@@ -9,20 +9,78 @@
 
 package com.mcckyle.to_do_app.security.config;
 
+import com.mcckyle.to_do_app.security.BoundedPasswordEncoder;
+import com.mcckyle.to_do_app.security.HashCostCalibrator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.Duration;
+import java.util.Map;
 
 //***************************************************************************************
 
+/**
+ * Stored hashes carry their scheme as a prefix ({@code {bcrypt}...}, {@code {argon2}...});
+ * hashes from before the prefix existed are plain BCrypt. New hashes use
+ * {@code app.security.hashing.algorithm} at a cost calibrated on startup to about
+ * {@code app.security.hashing.target-latency}, unless a cost is pinned. Hashes in
+ * another scheme or at a lower cost are replaced on the user's next sign-in
+ * (see {@code UserDetailsServiceImpl.updatePassword}).
+ */
 @Configuration
 public class PasswordEncoderConfig
 {
-    @Bean
-    public PasswordEncoder passwordEncoder()
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    //Hashing runs on its own pool; threads=0 means one per CPU. See BoundedPasswordEncoder.
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.security.hashing.algorithm:bcrypt}") String algorithm,
+                                           @Value("${app.security.hashing.target-latency:250ms}") Duration targetLatency,
+                                           @Value("${app.security.hashing.bcrypt.strength:0}") int bcryptStrength,
+                                           @Value("${app.security.hashing.argon2.iterations:0}") int argon2Iterations,
+                                           @Value("${app.security.hashing.argon2.memory-kib:19456}") int argon2MemoryKib,
+                                           @Value("${app.security.hashing.threads:0}") int threads,
+                                           @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${app.security.hashing.retry-after-seconds:2}") long retryAfterSeconds)
     {
-        return new BCryptPasswordEncoder();
+        PasswordEncoder bcrypt;
+        PasswordEncoder argon2;
+
+        //Only the scheme new hashes use is calibrated; the other one just verifies, and its cost is read from each hash.
+        switch (algorithm)
+        {
+            case BCRYPT ->
+            {
+                int strength = (bcryptStrength > 0) ? bcryptStrength : HashCostCalibrator.bcryptStrength(targetLatency);
+                System.out.println("Password hashing: bcrypt, strength " + strength + ".");
+
+                bcrypt = new BCryptPasswordEncoder(strength);
+                argon2 = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+            }
+            case ARGON2 ->
+            {
+                int iterations = (argon2Iterations > 0) ? argon2Iterations : HashCostCalibrator.argon2Iterations(targetLatency, argon2MemoryKib);
+                System.out.println("Password hashing: argon2id, " + argon2MemoryKib + " KiB, " + iterations + " iterations.");
+
+                bcrypt = new BCryptPasswordEncoder();
+                argon2 = HashCostCalibrator.argon2(argon2MemoryKib, iterations);
+            }
+            default -> throw new IllegalStateException("Unknown app.security.hashing.algorithm: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, Map.of(BCRYPT, bcrypt, ARGON2, argon2));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt); //Unprefixed hashes from before this change.
+
+        int poolSize = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, retryAfterSeconds, meterRegistry);
     }
 }
 
@@ -0,0 +1,37 @@
+//***************************************************************************************
+//
+//     Filename: WebMvcConfig.java
+//     Author: Kyle McColgan
+//     Date: 17 October 2026
+//     Description: This file registers the custom controller argument resolvers.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.security.config;
+
+import com.mcckyle.to_do_app.security.CurrentUserArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.util.List;
+
+//***************************************************************************************
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer
+{
+    private final CurrentUserArgumentResolver currentUserArgumentResolver;
+
+    public WebMvcConfig(CurrentUserArgumentResolver currentUserArgumentResolver)
+    {
+        this.currentUserArgumentResolver = currentUserArgumentResolver;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers)
+    {
+        resolvers.add(currentUserArgumentResolver);
+    }
+}
+
+//***************************************************************************************
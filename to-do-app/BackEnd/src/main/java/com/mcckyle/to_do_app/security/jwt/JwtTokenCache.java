@@ -0,0 +1,113 @@
+//***************************************************************************************
+//
+//     Filename: JwtTokenCache.java
+//     Author: Kyle McColgan
+//     Date: 17 October 2026
+//     Description: This file provides a bounded cache of already verified auth tokens.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+//***************************************************************************************
+
+/**
+ * Remembers tokens whose signature has already been verified, so a client that
+ * repeats the same bearer token only pays for the HMAC check once.
+ * <p>
+ * Entries are keyed by a SHA-256 digest of the token (the raw token is never
+ * retained) and expire at the token's own {@code exp} claim. Hit, miss and
+ * eviction counters are published under the {@code jwt.verified} cache name.
+ * </p>
+ */
+@Component
+public class JwtTokenCache
+{
+    private final Cache<String, VerifiedToken> cache;
+
+    public JwtTokenCache(@Value("${jwt.cache.max-entries:10000}") long maxEntries, MeterRegistry meterRegistry)
+    {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    //Returns a previously verified token, or null on a miss.
+    public VerifiedToken get(String token)
+    {
+        return cache.getIfPresent(digest(token));
+    }
+
+    public void put(String token, VerifiedToken verified)
+    {
+        if ( (verified == null) || (verified.isExpired()) )
+        {
+            return; //Nothing worth remembering.
+        }
+
+        cache.put(digest(token), verified);
+    }
+
+    public CacheStats stats()
+    {
+        return cache.stats();
+    }
+
+    private static String digest(String token)
+    {
+        try
+        {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available.", e); //Required by every JRE.
+        }
+    }
+
+    //Each entry lives exactly as long as the token it stands for.
+    private static class TokenExpiry implements Expiry<String, VerifiedToken>
+    {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime)
+        {
+            Duration remaining = Duration.between(Instant.now(), token.expiresAt());
+            return remaining.isNegative() ? 0L : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration)
+        {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration)
+        {
+            return currentDuration;
+        }
+    }
+}
+
+//***************************************************************************************
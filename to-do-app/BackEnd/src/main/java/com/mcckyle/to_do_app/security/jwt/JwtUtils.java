@@ -9,13 +9,17 @@
 
 package com.mcckyle.to_do_app.security.jwt;
 
+import com.mcckyle.to_do_app.security.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
-import java.util.Collection;
+import javax.crypto.SecretKey;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -30,10 +34,24 @@ public class JwtUtils
     @Value("${jwt.expirationMs}")
     private int jwtExpirationMs;
 
-    public String generateJwtToken(Integer userId, String username,
-                                   Collection<? extends GrantedAuthority> authorities)
+    //Derived once; both are immutable and safe to share across request threads.
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init()
+    {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .requireIssuer("to_do_app")
+                .requireAudience("to_do_app-client")
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    public String generateJwtToken(UserDetailsImpl userDetails)
     {
-        String roles = authorities.stream()
+        String roles = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
@@ -43,38 +61,97 @@ public class JwtUtils
                 .setIssuer("to_do_app")
                 .setAudience("to_do_app-client")
                 .setId(jti)
-                .setSubject(String.valueOf(userId))
-                .claim("username", username)  // Include userId in the JWT
+                .setSubject(String.valueOf(userDetails.getId()))
+                .claim("username", userDetails.getUsername())  // Include userId in the JWT
+                .claim("email", userDetails.getEmail())
                 .claim("roles", roles)
+                .claim("ver", userDetails.getTokenVersion())
+                .claim("typ", VerifiedToken.Type.ACCESS.claim())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String generateRefreshToken(Integer userId)
+    public String generateRefreshToken(UserDetailsImpl userDetails)
     {
         return Jwts.builder()
                 .setIssuer("to_do_app")
                 .setAudience("to_do_app-client")
-                .setSubject(String.valueOf(userId))
+                .setSubject(String.valueOf(userDetails.getId()))
+                .claim("ver", userDetails.getTokenVersion())
+                .claim("typ", VerifiedToken.Type.REFRESH.claim())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + 604800000)) //One week.
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public Claims getClaimsFromToken(String token)
+    /**
+     * Verifies and decodes an access token in a single parse.
+     *
+     * @param token the compact JWT string
+     * @return the decoded token, or {@code null} if it is invalid, expired, has no numeric
+     *         subject or is a refresh token
+     */
+    public VerifiedToken decodeAccessToken(String token)
+    {
+        return decodeToken(token, VerifiedToken.Type.ACCESS);
+    }
+
+    //Same as decodeAccessToken, for the refresh endpoint only.
+    public VerifiedToken decodeRefreshToken(String token)
+    {
+        return decodeToken(token, VerifiedToken.Type.REFRESH);
+    }
+
+    private VerifiedToken decodeToken(String token, VerifiedToken.Type expectedType)
+    {
+        Claims claims = parseClaims(token);
+
+        if ( (claims == null) || (claims.getExpiration() == null) )
+        {
+            return null;
+        }
+
+        if (typeOf(claims) != expectedType)
+        {
+            return null;
+        }
+
+        Long userId;
+
+        try
+        {
+            userId = Long.valueOf(claims.getSubject());
+        }
+        catch (NumberFormatException e)
+        {
+            return null;
+        }
+
+        //Tokens issued before versioning existed count as version 0.
+        Integer tokenVersion = claims.get("ver", Integer.class);
+
+        VerifiedToken verified = new VerifiedToken(
+                userId,
+                claims.get("username", String.class),
+                claims.get("email", String.class),
+                parseRoles(claims.get("roles", String.class)),
+                (tokenVersion != null) ? tokenVersion : 0,
+                claims.getId(),
+                claims.getExpiration().toInstant(),
+                expectedType
+        );
+
+        return verified.isExpired() ? null : verified;
+    }
+
+    private Claims parseClaims(String token)
     {
         try
         {
-            return Jwts.parserBuilder()
-                    .requireIssuer("to_do_app")
-                    .requireAudience("to_do_app-client")
-                    .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         }
         catch (ExpiredJwtException e)
         {
@@ -95,50 +172,38 @@ public class JwtUtils
         return null;
     }
 
-    public Integer getUserIdFromJwtToken(String token)
+    //Tokens issued before the "typ" claim existed are told apart by the username only access tokens carry.
+    private static VerifiedToken.Type typeOf(Claims claims)
     {
-        Claims claims = getClaimsFromToken(token);
+        String type = claims.get("typ", String.class);
 
-        if (claims == null)
+        if (type == null)
         {
-            return null;
+            return (claims.get("username") != null) ? VerifiedToken.Type.ACCESS : VerifiedToken.Type.REFRESH;
         }
 
-        String sub = claims.getSubject();
-
-        try
+        for (VerifiedToken.Type candidate : VerifiedToken.Type.values())
         {
-            return Integer.valueOf(sub);
+            if (candidate.claim().equals(type))
+            {
+                return candidate;
+            }
         }
-        catch (NumberFormatException e)
-        {
-            return null;
-        }
-    }
 
-    public String getUserNameFromJwtToken(String token)
-    {
-        Claims claims = getClaimsFromToken(token);
-        return claims != null ? claims.getSubject() : null;
+        return null;
     }
 
-    public boolean validateJwtToken(String authToken)
+    private static List<String> parseRoles(String roles)
     {
-        try
-        {
-            Claims claims = getClaimsFromToken(authToken);
-            return claims != null && !isTokenExpired(claims);
-        }
-        catch (Exception e)
+        if ( (roles == null) || (roles.isBlank()) )
         {
-            System.out.println("Error during token validation: " + e.getMessage());
-            return false;
+            return List.of();
         }
-    }
 
-    private boolean isTokenExpired(Claims claims)
-    {
-        return claims.getExpiration().before(new Date());
+        return Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(role -> ! role.isEmpty())
+                .toList();
     }
 }
 
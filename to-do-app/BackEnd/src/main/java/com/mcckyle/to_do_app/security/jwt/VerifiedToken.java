@@ -0,0 +1,56 @@
+//***************************************************************************************
+//
+//     Filename: VerifiedToken.java
+//     Author: Kyle McColgan
+//     Date: 17 October 2026
+//     Description: This file contains the decoded, signature-checked auth token fields.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.security.jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+//***************************************************************************************
+
+/**
+ * Immutable view of a token that has passed signature, issuer, audience and
+ * expiry checks. Produced once per token by {@link JwtUtils#decodeAccessToken(String)}
+ * or {@link JwtUtils#decodeRefreshToken(String)}, which each accept only their own {@link Type}.
+ * Refresh tokens carry no username, email, roles or jti, so those fields may be null/empty.
+ */
+public record VerifiedToken(Long userId, String username, String email, List<String> roles,
+                            int tokenVersion, String jti, Instant expiresAt, Type type)
+{
+    //Sent in the "typ" claim.
+    public enum Type
+    {
+        ACCESS("access"),
+        REFRESH("refresh");
+
+        private final String claim;
+
+        Type(String claim)
+        {
+            this.claim = claim;
+        }
+
+        public String claim()
+        {
+            return claim;
+        }
+    }
+
+    public VerifiedToken
+    {
+        roles = (roles != null) ? List.copyOf(roles) : List.of();
+    }
+
+    public boolean isExpired()
+    {
+        return ! expiresAt.isAfter(Instant.now());
+    }
+}
+
+//***************************************************************************************
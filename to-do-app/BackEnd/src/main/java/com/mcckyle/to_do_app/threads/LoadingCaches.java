@@ -0,0 +1,74 @@
+//***************************************************************************************
+//
+//     Filename: LoadingCaches.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file builds Caffeine caches whose misses suit the thread mode.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.threads;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.Executor;
+
+//***************************************************************************************
+
+/**
+ * Builds the in-memory caches that read the database on a miss.
+ * <p>
+ * On platform threads (the default) a miss loads on the calling thread, inside
+ * the map's bin lock, as a plain {@link LoadingCache} always has. In
+ * virtual-thread mode ({@code spring.threads.virtual.enabled=true}) that lock
+ * would pin the virtual thread to its carrier for the whole query on Java 21-23,
+ * so misses load on the application task executor instead and the caller parks
+ * on the result. Either way callers see the same synchronous cache.
+ * </p>
+ * <p>
+ * The hop is only worth it on virtual threads: on platform threads that executor
+ * is a small fixed pool shared with {@code @Async} work, and every miss would
+ * queue behind it.
+ * </p>
+ */
+@Component
+public class LoadingCaches
+{
+    private final Executor loadExecutor;
+    private final boolean virtualThreads;
+
+    public LoadingCaches(@Qualifier("applicationTaskExecutor") Executor loadExecutor,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads)
+    {
+        this.loadExecutor = loadExecutor;
+        this.virtualThreads = virtualThreads;
+    }
+
+    public <K, V> LoadingCache<K, V> build(Caffeine<Object, Object> builder, CacheLoader<K, V> loader)
+    {
+        if (virtualThreads)
+        {
+            return builder.executor(loadExecutor).buildAsync(loader).synchronous();
+        }
+
+        return builder.build(loader);
+    }
+
+    //For caches loaded per call, with get(key, mappingFunction).
+    public <K, V> Cache<K, V> build(Caffeine<Object, Object> builder)
+    {
+        if (virtualThreads)
+        {
+            return builder.executor(loadExecutor).<K, V>buildAsync().synchronous();
+        }
+
+        return builder.build();
+    }
+}
+
+//***************************************************************************************
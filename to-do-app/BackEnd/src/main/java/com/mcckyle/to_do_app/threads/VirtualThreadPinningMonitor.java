@@ -0,0 +1,122 @@
+//***************************************************************************************
+//
+//     Filename: VirtualThreadPinningMonitor.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file reports virtual threads that block while pinned to a carrier.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+//***************************************************************************************
+
+/**
+ * Active in virtual-thread mode ({@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * A virtual thread that blocks inside a {@code synchronized} block or a native
+ * frame cannot unmount, so it holds one of the few carrier threads for as long
+ * as it waits; enough of them at once and every request stalls. The JVM reports
+ * each such wait over {@code app.threads.pinned-threshold} as a
+ * {@code jdk.VirtualThreadPinned} JFR event. This streams those events in-process:
+ * every one is recorded in the {@code jvm.threads.virtual.pinned} timer, and the
+ * first from each code location is logged with its stack.
+ * </p>
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor
+{
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 100;
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Timer pinned;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinned-threshold:20ms}") Duration threshold)
+    {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start()
+    {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+
+        System.out.println("Serving on virtual threads; reporting pinning over " + threshold.toMillis() + " ms.");
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        if (stream != null)
+        {
+            stream.close();
+        }
+    }
+
+    private void record(RecordedEvent event)
+    {
+        pinned.record(event.getDuration());
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = (stackTrace == null) ? List.of() : stackTrace.getFrames();
+        String site = firstCallerFrame(frames);
+
+        //Log each location once; the timer keeps counting them all.
+        if ( (reportedSites.size() < MAX_REPORTED_SITES) && (reportedSites.add(site)) )
+        {
+            StringBuilder message = new StringBuilder("Virtual thread pinned for ")
+                    .append(event.getDuration().toMillis()).append(" ms at ").append(site);
+
+            frames.stream().limit(LOGGED_FRAMES).forEach(frame -> message.append("\n\tat ").append(describe(frame)));
+            System.out.println(message);
+        }
+    }
+
+    //The top frame is always the JDK parking the thread; the first frame outside the JDK is what blocked.
+    private static String firstCallerFrame(List<RecordedFrame> frames)
+    {
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(VirtualThreadPinningMonitor::describe)
+                .filter(frame -> ! (frame.startsWith("java.") || frame.startsWith("jdk.") || frame.startsWith("sun.")))
+                .findFirst()
+                .orElse("unknown");
+    }
+
+    private static String describe(RecordedFrame frame)
+    {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
+
+//***************************************************************************************
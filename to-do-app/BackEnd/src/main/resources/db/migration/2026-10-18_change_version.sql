@@ -0,0 +1,12 @@
+-- ***************************************************************************************
+--
+--     Filename: 2026-10-18_change_version.sql
+--     Author: Kyle McColgan
+--     Date: 18 October 2026
+--     Description: Adds the per-user change version behind the read ETags (MariaDB).
+--
+-- ***************************************************************************************
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS change_version BIGINT DEFAULT 0 NOT NULL;
+
+-- ***************************************************************************************
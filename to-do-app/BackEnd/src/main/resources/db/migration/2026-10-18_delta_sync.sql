@@ -0,0 +1,31 @@
+-- ***************************************************************************************
+--
+--     Filename: 2026-10-18_delta_sync.sql
+--     Author: Kyle McColgan
+--     Date: 18 October 2026
+--     Description: Adds change tracking and delete tombstones for delta sync (MariaDB).
+--
+-- ***************************************************************************************
+--
+-- Existing rows keep change_version 0, so a client's first sync (no cursor) still gets them.
+
+ALTER TABLE to_do_obj  ADD COLUMN IF NOT EXISTS updated_at     DATETIME(6),
+                       ADD COLUMN IF NOT EXISTS change_version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE task_lists ADD COLUMN IF NOT EXISTS updated_at     DATETIME(6),
+                       ADD COLUMN IF NOT EXISTS change_version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_todo_user_change_version      ON to_do_obj (user_id, change_version);
+CREATE INDEX IF NOT EXISTS idx_task_list_user_change_version ON task_lists (user_id, change_version);
+
+CREATE TABLE IF NOT EXISTS tombstones (
+    id             BIGINT      NOT NULL PRIMARY KEY,
+    user_id        BIGINT      NOT NULL,
+    kind           VARCHAR(8)  NOT NULL,
+    entity_id      BIGINT      NOT NULL,
+    change_version BIGINT      NOT NULL,
+    deleted_at     DATETIME(6) NOT NULL,
+    INDEX idx_tombstone_user_change_version (user_id, change_version)
+);
+
+-- ***************************************************************************************
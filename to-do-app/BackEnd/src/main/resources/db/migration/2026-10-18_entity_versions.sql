@@ -0,0 +1,13 @@
+-- ***************************************************************************************
+--
+--     Filename: 2026-10-18_entity_versions.sql
+--     Author: Kyle McColgan
+--     Date: 18 October 2026
+--     Description: Adds the optimistic-locking versions behind If-Match (MariaDB).
+--
+-- ***************************************************************************************
+
+ALTER TABLE to_do_obj ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE task_lists ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- ***************************************************************************************
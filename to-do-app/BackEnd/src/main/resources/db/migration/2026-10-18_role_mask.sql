@@ -0,0 +1,36 @@
+-- ***************************************************************************************
+--
+--     Filename: 2026-10-18_role_mask.sql
+--     Author: Kyle McColgan
+--     Date: 18 October 2026
+--     Description: Copies user_roles into users.role_mask (MariaDB).
+--
+-- ***************************************************************************************
+--
+-- Bits follow UserRole: ROLE_USER = 1, ROLE_ADMIN = 2. Required before starting
+-- the application on an existing database, whatever app.security.role-storage is:
+-- User maps role_mask in both modes and registration always writes it. Once it has
+-- run, app.security.role-storage=mask can be set. Re-running it is safe.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS role_mask INT DEFAULT 1 NOT NULL;
+
+UPDATE users u
+SET u.role_mask = (
+    SELECT COALESCE(BIT_OR(CASE r.name WHEN 'ROLE_USER'  THEN 1
+                                       WHEN 'ROLE_ADMIN' THEN 2
+                                       ELSE 0 END), 0)
+    FROM user_roles ur
+    JOIN roles r ON r.id = ur.role_id
+    WHERE ur.user_id = u.id
+);
+
+-- In mask mode new users get no user_roles row. To go back to app.security.role-storage=join,
+-- first restore the rows from the masks:
+--
+-- INSERT IGNORE INTO user_roles (user_id, role_id)
+-- SELECT u.id, r.id
+-- FROM users u
+-- JOIN roles r ON (r.name = 'ROLE_USER' AND (u.role_mask & 1) <> 0)
+--              OR (r.name = 'ROLE_ADMIN' AND (u.role_mask & 2) <> 0);
+
+-- ***************************************************************************************
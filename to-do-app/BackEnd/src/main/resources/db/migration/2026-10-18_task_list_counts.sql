@@ -0,0 +1,20 @@
+-- ***************************************************************************************
+--
+--     Filename: 2026-10-18_task_list_counts.sql
+--     Author: Kyle McColgan
+--     Date: 18 October 2026
+--     Description: Adds the task counters to task_lists and fills them in (MariaDB).
+--
+-- ***************************************************************************************
+--
+-- From here on the application keeps the counters up to date. The same recount can be
+-- re-run at any time, or at startup with app.tasks.reconcile-counts-on-startup=true.
+
+ALTER TABLE task_lists ADD COLUMN IF NOT EXISTS task_count      INT DEFAULT 0 NOT NULL,
+                       ADD COLUMN IF NOT EXISTS completed_count INT DEFAULT 0 NOT NULL;
+
+UPDATE task_lists l SET
+    l.task_count      = (SELECT COUNT(*) FROM to_do_obj t WHERE t.task_list_id = l.id),
+    l.completed_count = (SELECT COUNT(*) FROM to_do_obj t WHERE t.task_list_id = l.id AND t.completed = TRUE);
+
+-- ***************************************************************************************
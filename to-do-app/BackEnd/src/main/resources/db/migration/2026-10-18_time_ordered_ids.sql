@@ -0,0 +1,34 @@
+-- ***************************************************************************************
+--
+--     Filename: 2026-10-18_time_ordered_ids.sql
+--     Author: Kyle McColgan
+--     Date: 18 October 2026
+--     Description: Widens every key to BIGINT and drops AUTO_INCREMENT (MariaDB).
+--
+-- ***************************************************************************************
+--
+-- Ids are now assigned by the application (see com.mcckyle.to_do_app.ids.TimeOrderedIds).
+-- Existing rows keep their ids: they are far below any generated id, so the two never
+-- collide. Generated ids need more than 32 bits, so on an existing database this must run
+-- before the application first starts, and before the other scripts in this folder
+-- (delta_sync creates BIGINT keys that refer to these columns). Run it with the
+-- application stopped; the order for every script is in the README.
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE users       MODIFY id BIGINT NOT NULL;
+ALTER TABLE roles       MODIFY id BIGINT NOT NULL;
+
+ALTER TABLE user_roles  MODIFY user_id BIGINT NOT NULL,
+                        MODIFY role_id BIGINT NOT NULL;
+
+ALTER TABLE task_lists  MODIFY id BIGINT NOT NULL,
+                        MODIFY user_id BIGINT NOT NULL;
+
+ALTER TABLE to_do_obj   MODIFY id BIGINT NOT NULL,
+                        MODIFY task_list_id BIGINT,
+                        MODIFY user_id BIGINT NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
+
+-- ***************************************************************************************
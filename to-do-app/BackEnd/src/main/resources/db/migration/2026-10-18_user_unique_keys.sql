@@ -0,0 +1,21 @@
+-- ***************************************************************************************
+--
+--     Filename: 2026-10-18_user_unique_keys.sql
+--     Author: Kyle McColgan
+--     Date: 18 October 2026
+--     Description: Names the unique keys registration relies on (MariaDB).
+--
+-- ***************************************************************************************
+--
+-- Registration checks existsByUsername and existsByEmail before hashing the password, so a
+-- duplicate is normally turned away without an insert. These keys catch the race that gets
+-- past those checks: two registrations with the same username or email at the same time.
+-- Adding uk_users_email fails if two accounts already share an email; find them first with
+--   SELECT email, COUNT(*) FROM users GROUP BY email HAVING COUNT(*) > 1;
+-- The older, generated unique key on username (see SHOW INDEX FROM users) is redundant
+-- once uk_users_username exists and may be dropped.
+
+ALTER TABLE users ADD UNIQUE KEY IF NOT EXISTS uk_users_username (username),
+                  ADD UNIQUE KEY IF NOT EXISTS uk_users_email (email);
+
+-- ***************************************************************************************
@@ -0,0 +1,94 @@
+//***************************************************************************************
+//
+//     Filename: AuthRateLimiterTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for the sign-in rate limiter.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Exceptions.TooManyRequestsException;
+import com.mcckyle.to_do_app.security.AuthRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//***************************************************************************************
+
+public class AuthRateLimiterTest
+{
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuthRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setUp()
+    {
+        //Per IP: 4 attempts, one more every second. Per email: 2 attempts, one more every 10 seconds.
+        rateLimiter = new AuthRateLimiter(meterRegistry, now::get, true,
+                4, Duration.ofSeconds(1), 2, Duration.ofSeconds(10), 1000);
+    }
+
+    private double rejected(String keyType)
+    {
+        return meterRegistry.get("auth.ratelimit.rejected").tag("key", keyType).counter().count();
+    }
+
+    //Test #1
+    //Description: An email gets its burst, is then refused with a retry hint, and is let back in once a token refills.
+    @Test
+    public void testAcquire_emailBurstThenRefill()
+    {
+        rateLimiter.acquire(AuthRateLimiter.SIGN_IN, "10.0.0.1", "a@example.com");
+        rateLimiter.acquire(AuthRateLimiter.SIGN_IN, "10.0.0.2", "A@Example.com ");
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> rateLimiter.acquire(AuthRateLimiter.SIGN_IN, "10.0.0.3", "a@example.com"));
+        assertEquals(10, ex.getRetryAfterSeconds());
+        assertEquals(1, rejected("email"));
+
+        rateLimiter.acquire(AuthRateLimiter.SIGN_IN, "10.0.0.3", "b@example.com"); //Other emails are unaffected.
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        rateLimiter.acquire(AuthRateLimiter.SIGN_IN, "10.0.0.4", "a@example.com");
+    }
+
+    //Test #2
+    //Description: One address cycling through emails is stopped by its own bucket.
+    @Test
+    public void testAcquire_ipLimitedAcrossEmails()
+    {
+        for (int i = 0; i < 4; i++)
+        {
+            rateLimiter.acquire(AuthRateLimiter.REGISTER, "10.0.0.1", "user" + i + "@example.com");
+        }
+
+        assertThrows(TooManyRequestsException.class,
+                () -> rateLimiter.acquire(AuthRateLimiter.REGISTER, "10.0.0.1", "user9@example.com"));
+        assertEquals(1, rejected("ip"));
+
+        rateLimiter.acquire(AuthRateLimiter.REGISTER, "10.0.0.2", "user9@example.com");
+    }
+
+    //Test #3
+    //Description: With the limiter disabled every attempt is let through.
+    @Test
+    public void testAcquire_disabled()
+    {
+        rateLimiter = new AuthRateLimiter(meterRegistry, now::get, false,
+                1, Duration.ofSeconds(1), 1, Duration.ofSeconds(1), 1000);
+
+        for (int i = 0; i < 10; i++)
+        {
+            rateLimiter.acquire(AuthRateLimiter.SIGN_IN, "10.0.0.1", "a@example.com");
+        }
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,117 @@
+//***************************************************************************************
+//
+//     Filename: BoundedPasswordEncoderTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for the bounded password encoder.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Exceptions.TooManyRequestsException;
+import com.mcckyle.to_do_app.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//***************************************************************************************
+
+public class BoundedPasswordEncoderTest
+{
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    public void tearDown()
+    {
+        encoder.shutdown();
+    }
+
+    //Test #1
+    //Description: Hashes made on the pool verify on the pool.
+    @Test
+    public void testEncodeAndMatches_roundTrip()
+    {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, 1, meterRegistry);
+
+        String hash = encoder.encode("password123");
+
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(3, meterRegistry.get("auth.hashing.wait").timer().count());
+    }
+
+    //Test #2
+    //Description: Once the thread and the queue are taken, the next caller is shed with a retry hint.
+    @Test
+    public void testMatches_fullQueueRejected() throws Exception
+    {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1, 1, 3, meterRegistry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+
+        while (meterRegistry.get("auth.hashing.queue.depth").gauge().value() < 1)
+        {
+            Thread.onSpinWait();
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> encoder.matches("c", "c"));
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("auth.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    //Holds the hashing thread until the test lets it go.
+    private static final class BlockingEncoder implements PasswordEncoder
+    {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        private BlockingEncoder(CountDownLatch started, CountDownLatch release)
+        {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword)
+        {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword)
+        {
+            started.countDown();
+
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,346 @@
+//***************************************************************************************
+//
+//     Filename: ChangeStreamRegistryTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for the change stream fan-out.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Services.ChangeStreamRegistry;
+import com.mcckyle.to_do_app.payload.ChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//***************************************************************************************
+
+public class ChangeStreamRegistryTest
+{
+    private static final Duration NO_HEARTBEAT = Duration.ofHours(1);
+    private static final Duration NO_SEND_TIMEOUT = Duration.ofHours(1);
+
+    private final Queue<StubEmitter> nextEmitters = new ArrayDeque<>();
+    private ChangeStreamRegistry changeStreams;
+
+    //Records what the registry writes to a stream; send() can be held to play a slow client.
+    //Like the real emitter, complete() waits for a send in progress.
+    static class StubEmitter extends SseEmitter
+    {
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completion = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private volatile boolean completed;
+
+        StubEmitter()
+        {
+            this(false);
+        }
+
+        StubEmitter(boolean slow)
+        {
+            this.release = new CountDownLatch(slow ? 1 : 0);
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder)
+        {
+            sending.countDown();
+
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData() instanceof String data ? data : "<data>"));
+            sent.add(text.toString());
+        }
+
+        @Override
+        public synchronized void complete()
+        {
+            completed = true;
+            completion.countDown();
+        }
+
+        boolean awaitCompleted() throws InterruptedException
+        {
+            return completion.await(5, TimeUnit.SECONDS);
+        }
+
+        //Waits for the next write that contains the given text, skipping others.
+        String awaitSent(String text) throws InterruptedException
+        {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            String event;
+
+            while ( (event = sent.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) != null)
+            {
+                if (event.contains(text))
+                {
+                    return event;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private ChangeStreamRegistry registry(int bufferSize, int maxPerUser, Duration heartbeat)
+    {
+        return registry(bufferSize, maxPerUser, 2, heartbeat, NO_SEND_TIMEOUT);
+    }
+
+    private ChangeStreamRegistry registry(int bufferSize, int maxPerUser, int senderThreads, Duration heartbeat,
+                                          Duration sendTimeout)
+    {
+        return new ChangeStreamRegistry(new SimpleMeterRegistry(), this::nextEmitter, bufferSize, maxPerUser,
+                senderThreads, heartbeat, sendTimeout);
+    }
+
+    private SseEmitter nextEmitter()
+    {
+        StubEmitter emitter = nextEmitters.poll();
+        return (emitter != null) ? emitter : new StubEmitter();
+    }
+
+    private StubEmitter open(Long userId)
+    {
+        return (StubEmitter) changeStreams.open(userId);
+    }
+
+    private static ChangeEvent deleted(Long userId, long version)
+    {
+        return new ChangeEvent(userId, version, ChangeEvent.Kind.TASK, ChangeEvent.Action.DELETED, List.of(9L));
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        if (changeStreams != null)
+        {
+            changeStreams.shutdown();
+        }
+    }
+
+    //Test #1
+    //Description: A user over the per-user limit loses their oldest stream, other users keep theirs.
+    @Test
+    public void testOpen_evictsOldestOverLimit() throws Exception
+    {
+        changeStreams = registry(4, 2, NO_HEARTBEAT);
+
+        StubEmitter oldest = open(1L);
+        StubEmitter second = open(1L);
+        StubEmitter third = open(1L);
+        open(2L);
+
+        assertEquals(3, changeStreams.openConnections());
+        assertTrue(oldest.awaitCompleted());
+        assertFalse(second.completed);
+        assertFalse(third.completed);
+    }
+
+    //Test #2
+    //Description: Events for a user with no open stream are dropped without error.
+    @Test
+    public void testOnChange_noListeners() throws Exception
+    {
+        changeStreams = registry(4, 2, NO_HEARTBEAT);
+
+        StubEmitter other = open(1L);
+        changeStreams.onChange(deleted(2L, 5L));
+
+        assertEquals(1, changeStreams.openConnections());
+        assertNotNull(other.awaitSent("connected"));
+        assertNull(other.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    //Test #3
+    //Description: Every stream the user has open gets each change, in order.
+    @Test
+    public void testOnChange_deliveredToAllUserStreams() throws Exception
+    {
+        changeStreams = registry(4, 2, NO_HEARTBEAT);
+
+        StubEmitter laptop = open(1L);
+        StubEmitter phone = open(1L);
+        changeStreams.onChange(deleted(1L, 5L));
+        changeStreams.onChange(deleted(1L, 6L));
+
+        for (StubEmitter stream : List.of(laptop, phone))
+        {
+            assertNotNull(stream.awaitSent("connected"));
+            assertTrue(stream.awaitSent("event:change").contains("id:5"));
+            assertTrue(stream.awaitSent("event:change").contains("id:6"));
+        }
+    }
+
+    //Test #4
+    //Description: A stream whose client stops reading is closed once its buffer is full; the user's other stream keeps up.
+    @Test
+    public void testOnChange_slowConsumerEvicted() throws Exception
+    {
+        changeStreams = registry(2, 2, NO_HEARTBEAT);
+
+        StubEmitter slow = new StubEmitter(true);
+        nextEmitters.add(slow);
+        open(1L);
+        StubEmitter fast = open(1L);
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS)); //Stuck writing "connected".
+
+        assertNotNull(fast.awaitSent("connected"));
+
+        //The fast stream keeps up with each change; the slow one's two-event buffer overflows on the third.
+        //Publishing returns at once even then: completing the slow stream waits for its send, elsewhere.
+        for (long version = 1; version <= 3; version++)
+        {
+            ChangeEvent event = deleted(1L, version);
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> changeStreams.onChange(event));
+            assertTrue(fast.awaitSent("event:change").contains("id:" + version));
+        }
+
+        assertEquals(1, changeStreams.openConnections());
+        assertFalse(slow.completed);
+        assertFalse(fast.completed);
+
+        slow.release.countDown();
+        assertTrue(slow.awaitCompleted());
+    }
+
+    //Test #5
+    //Description: Idle streams get a heartbeat comment.
+    @Test
+    public void testHeartbeat_sentToIdleStreams() throws Exception
+    {
+        changeStreams = registry(4, 2, Duration.ofMillis(50));
+
+        StubEmitter idle = open(1L);
+
+        assertNotNull(idle.awaitSent("heartbeat"));
+        assertEquals(1, changeStreams.openConnections());
+    }
+
+    //Test #6
+    //Description: Changes published in a transaction reach streams only if it commits.
+    @Test
+    public void testOnChange_suppressedOnRollback() throws Exception
+    {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TransactionalConfig.class))
+        {
+            ChangeStreamRegistry registry = context.getBean(ChangeStreamRegistry.class);
+            ApplicationEventPublisher publisher = context;
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            StubEmitter stream = (StubEmitter) registry.open(1L);
+            assertNotNull(stream.awaitSent("connected"));
+
+            transaction.executeWithoutResult(status -> {
+                publisher.publishEvent(deleted(1L, 5L));
+                status.setRollbackOnly();
+            });
+            transaction.executeWithoutResult(status -> publisher.publishEvent(deleted(1L, 6L)));
+
+            assertTrue(stream.awaitSent("event:change").contains("id:6"));
+        }
+    }
+
+    //Test #7
+    //Description: A send stuck past the timeout drops that stream, and other users' streams keep flowing
+    //even when the stuck send holds the only sender thread.
+    @Test
+    public void testSendTimeout_stuckClientDoesNotStallOthers() throws Exception
+    {
+        changeStreams = registry(4, 2, 1, NO_HEARTBEAT, Duration.ofMillis(100));
+
+        StubEmitter stuck = new StubEmitter(true);
+        nextEmitters.add(stuck);
+        open(1L);
+        assertTrue(stuck.sending.await(5, TimeUnit.SECONDS)); //The only sender, stuck writing "connected".
+
+        StubEmitter other = open(2L);
+        changeStreams.onChange(deleted(2L, 5L));
+
+        assertNotNull(other.awaitSent("connected"));
+        assertTrue(other.awaitSent("event:change").contains("id:5"));
+        assertEquals(1, changeStreams.openConnections());
+        assertFalse(stuck.completed);
+
+        stuck.release.countDown();
+        assertTrue(stuck.awaitCompleted());
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class TransactionalConfig
+    {
+        @Bean
+        public ChangeStreamRegistry changeStreamRegistry()
+        {
+            return new ChangeStreamRegistry(new SimpleMeterRegistry(), StubEmitter::new, 4, 2, 1, NO_HEARTBEAT, NO_SEND_TIMEOUT);
+        }
+
+        //Runs transaction synchronization, and so @TransactionalEventListener, without a database.
+        @Bean
+        public PlatformTransactionManager transactionManager()
+        {
+            return new AbstractPlatformTransactionManager()
+            {
+                @Override
+                protected Object doGetTransaction()
+                {
+                    return new Object();
+                }
+
+                @Override
+                protected void doBegin(Object transaction, TransactionDefinition definition)
+                {
+
+                }
+
+                @Override
+                protected void doCommit(DefaultTransactionStatus status)
+                {
+
+                }
+
+                @Override
+                protected void doRollback(DefaultTransactionStatus status)
+                {
+
+                }
+            };
+        }
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,93 @@
+//***************************************************************************************
+//
+//     Filename: ChangeVersionRegistryTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for the in-memory change versions.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Data.UserJdbcRepository;
+import com.mcckyle.to_do_app.Data.UserRepository;
+import com.mcckyle.to_do_app.Services.ChangeVersionRegistry;
+import com.mcckyle.to_do_app.cache.SecondLevelCacheEvictor;
+import com.mcckyle.to_do_app.threads.LoadingCaches;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+//***************************************************************************************
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeVersionRegistryTest
+{
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
+    @Mock
+    private SecondLevelCacheEvictor cacheEvictor;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ChangeVersionRegistry changeVersions;
+
+    @BeforeEach
+    public void setUp()
+    {
+        changeVersions = new ChangeVersionRegistry(userRepository, userJdbcRepository, cacheEvictor,
+                new LoadingCaches(Runnable::run, false), 100, Duration.ofSeconds(5), nanos::get);
+    }
+
+    //Test #1
+    //Description: Within the TTL the ETag comes from memory.
+    @Test
+    public void testEtag_servedFromMemory()
+    {
+        when(userRepository.findChangeVersionById(7L)).thenReturn(Optional.of(3L));
+
+        assertEquals("\"7-3\"", changeVersions.etag(7L));
+        assertEquals("\"7-3\"", changeVersions.etag(7L));
+        verify(userRepository, times(1)).findChangeVersionById(7L);
+    }
+
+    //Test #2
+    //Description: A bump made by another instance is seen once the entry expires.
+    @Test
+    public void testCurrent_reloadsAfterTtl()
+    {
+        when(userRepository.findChangeVersionById(7L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        assertEquals(3L, changeVersions.current(7L));
+
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertEquals(4L, changeVersions.current(7L));
+    }
+
+    //Test #3
+    //Description: A local bump is seen at once, outside a transaction.
+    @Test
+    public void testBump_invalidates()
+    {
+        when(userRepository.findChangeVersionById(7L)).thenReturn(Optional.of(3L), Optional.of(4L), Optional.of(4L));
+        changeVersions.current(7L);
+
+        assertEquals(4L, changeVersions.bump(7L));
+        assertEquals(4L, changeVersions.current(7L));
+        verify(userJdbcRepository).incrementChangeVersion(7L);
+        verify(cacheEvictor).evictUser(7L);
+    }
+}
+
+//***************************************************************************************
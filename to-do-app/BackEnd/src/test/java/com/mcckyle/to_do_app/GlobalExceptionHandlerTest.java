@@ -0,0 +1,57 @@
+//***************************************************************************************
+//
+//     Filename: GlobalExceptionHandlerTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for the API error statuses.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Exceptions.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//***************************************************************************************
+
+public class GlobalExceptionHandlerTest
+{
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private int statusFor(String ifMatch)
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/todos/9");
+
+        if (ifMatch != null)
+        {
+            request.addHeader(HttpHeaders.IF_MATCH, ifMatch);
+        }
+
+        return handler.handleOptimisticLockingFailureException(
+                new OptimisticLockingFailureException("stale"), request).getStatusCode().value();
+    }
+
+    //Test #1
+    //Description: A conditional write that lost the race fails its precondition.
+    @Test
+    public void testOptimisticLock_withIfMatch_preconditionFailed()
+    {
+        assertEquals(412, statusFor("\"3\""));
+    }
+
+    //Test #2
+    //Description: An unconditional write that lost the race is a conflict.
+    @Test
+    public void testOptimisticLock_withoutIfMatch_conflict()
+    {
+        assertEquals(409, statusFor(null));
+        assertEquals(409, statusFor("*"));
+    }
+}
+
+//***************************************************************************************
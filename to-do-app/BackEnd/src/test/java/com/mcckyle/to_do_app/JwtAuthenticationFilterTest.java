@@ -0,0 +1,148 @@
+//***************************************************************************************
+//
+//     Filename: JwtAuthenticationFilterTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for bearer token checks in stateless mode.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.security.JwtAuthenticationFilter;
+import com.mcckyle.to_do_app.security.TokenVersionRegistry;
+import com.mcckyle.to_do_app.security.UserDetailsImpl;
+import com.mcckyle.to_do_app.security.UserDetailsServiceImpl;
+import com.mcckyle.to_do_app.security.jwt.JwtTokenCache;
+import com.mcckyle.to_do_app.security.jwt.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+//***************************************************************************************
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest
+{
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private TokenVersionRegistry tokenVersions;
+
+    private JwtUtils jwtUtils;
+    private JwtAuthenticationFilter filter;
+    private UserDetailsImpl principal;
+
+    @BeforeEach
+    public void setUp()
+    {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "test-secret-test-secret-test-secret-test-secret-test-secret-0123");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60000);
+        jwtUtils.init();
+
+        filter = new JwtAuthenticationFilter(jwtUtils, userDetailsService,
+                new JwtTokenCache(100, new SimpleMeterRegistry()), tokenVersions, true);
+
+        principal = new UserDetailsImpl(7L, "testuser", "test@example.com", "hash", null, 2,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse filterWithBearer(String token, MockFilterChain chain) throws Exception
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setServletPath("/api/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    //Test #1
+    //Description: An access token becomes a principal built from its claims, with no user lookup.
+    @Test
+    public void testAccessToken_principalFromClaims() throws Exception
+    {
+        when(tokenVersions.isCurrent(7L, 2)).thenReturn(true);
+        MockFilterChain chain = new MockFilterChain();
+
+        filterWithBearer(jwtUtils.generateJwtToken(principal), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        assertNotNull(chain.getRequest());
+        assertEquals(7L, userDetails.getId());
+        assertEquals("testuser", userDetails.getUsername());
+        assertTrue(userDetails.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    //Test #2
+    //Description: A refresh token is not accepted as a bearer token.
+    @Test
+    public void testRefreshToken_rejectedAsBearer() throws Exception
+    {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filterWithBearer(jwtUtils.generateRefreshToken(principal), chain);
+
+        assertEquals(403, response.getStatus());
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(tokenVersions);
+    }
+
+    //Test #3
+    //Description: An access token whose version was revoked is refused.
+    @Test
+    public void testRevokedToken_unauthorized() throws Exception
+    {
+        when(tokenVersions.isCurrent(7L, 2)).thenReturn(false);
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filterWithBearer(jwtUtils.generateJwtToken(principal), chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    //Test #4
+    //Description: Each decoder accepts only its own kind of token.
+    @Test
+    public void testDecode_typesNotInterchangeable()
+    {
+        String accessToken = jwtUtils.generateJwtToken(principal);
+        String refreshToken = jwtUtils.generateRefreshToken(principal);
+
+        assertNotNull(jwtUtils.decodeAccessToken(accessToken));
+        assertNull(jwtUtils.decodeRefreshToken(accessToken));
+        assertNotNull(jwtUtils.decodeRefreshToken(refreshToken));
+        assertNull(jwtUtils.decodeAccessToken(refreshToken));
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,74 @@
+//***************************************************************************************
+//
+//     Filename: JwtTokenCacheTest.java
+//     Author: Kyle McColgan
+//     Date: 17 October 2026
+//     Description: This file provides a unit test suite for the verified-token cache.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.security.jwt.JwtTokenCache;
+import com.mcckyle.to_do_app.security.jwt.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+//***************************************************************************************
+
+public class JwtTokenCacheTest
+{
+    private JwtTokenCache tokenCache;
+
+    @BeforeEach
+    public void setUp()
+    {
+        tokenCache = new JwtTokenCache(100, new SimpleMeterRegistry());
+    }
+
+    private VerifiedToken tokenFor(Long userId, Instant expiresAt)
+    {
+        return new VerifiedToken(userId, "testuser", "test@example.com", List.of("ROLE_USER"), 0, "jti-" + userId, expiresAt, VerifiedToken.Type.ACCESS);
+    }
+
+    //Test #1
+    //Description: A verified token is served from the cache on repeat requests.
+    @Test
+    public void testGet_hitAfterPut()
+    {
+        tokenCache.put("token-a", tokenFor(7L, Instant.now().plusSeconds(60)));
+
+        assertEquals(7L, tokenCache.get("token-a").userId());
+        assertEquals(7L, tokenCache.get("token-a").userId());
+        assertEquals(2, tokenCache.stats().hitCount());
+    }
+
+    //Test #2
+    //Description: Unknown tokens are misses and are never invented.
+    @Test
+    public void testGet_missForUnknownToken()
+    {
+        tokenCache.put("token-a", tokenFor(7L, Instant.now().plusSeconds(60)));
+
+        assertNull(tokenCache.get("token-b"));
+        assertEquals(1, tokenCache.stats().missCount());
+    }
+
+    //Test #3
+    //Description: Tokens that are already expired are not cached at all.
+    @Test
+    public void testPut_expiredTokenIgnored()
+    {
+        tokenCache.put("token-a", tokenFor(7L, Instant.now().minusSeconds(1)));
+
+        assertNull(tokenCache.get("token-a"));
+    }
+}
+
+//***************************************************************************************
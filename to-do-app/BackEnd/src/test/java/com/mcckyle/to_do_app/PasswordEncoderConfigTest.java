@@ -0,0 +1,88 @@
+//***************************************************************************************
+//
+//     Filename: PasswordEncoderConfigTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for the password hashing schemes.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.security.BoundedPasswordEncoder;
+import com.mcckyle.to_do_app.security.HashCostCalibrator;
+import com.mcckyle.to_do_app.security.config.PasswordEncoderConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//***************************************************************************************
+
+public class PasswordEncoderConfigTest
+{
+    private PasswordEncoder encoder;
+
+    @AfterEach
+    public void tearDown()
+    {
+        ((BoundedPasswordEncoder) encoder).shutdown();
+    }
+
+    private PasswordEncoder encoderFor(String algorithm, int bcryptStrength, int argon2Iterations)
+    {
+        encoder = new PasswordEncoderConfig().passwordEncoder(new SimpleMeterRegistry(), algorithm, Duration.ofMillis(250),
+                bcryptStrength, argon2Iterations, 1024, 1, 4, 1);
+        return encoder;
+    }
+
+    //Test #1
+    //Description: Hashes stored before the scheme prefix still verify, and are flagged for a rehash.
+    @Test
+    public void testMatches_legacyBcryptHashUpgraded()
+    {
+        String legacy = new BCryptPasswordEncoder(10).encode("password123");
+        encoderFor(PasswordEncoderConfig.BCRYPT, 10, 0);
+
+        assertTrue(encoder.matches("password123", legacy));
+        assertFalse(encoder.matches("wrong", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    //Test #2
+    //Description: Switching to Argon2 keeps BCrypt users signing in and moves them over on their next sign-in.
+    @Test
+    public void testMatches_bcryptHashUpgradedToArgon2()
+    {
+        String bcrypt = new BCryptPasswordEncoder(4).encode("password123");
+        encoderFor(PasswordEncoderConfig.ARGON2, 0, 2);
+
+        String argon2 = encoder.encode("password123");
+
+        assertTrue(argon2.startsWith("{argon2}"));
+        assertTrue(encoder.matches("password123", "{bcrypt}" + bcrypt));
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + bcrypt));
+        assertTrue(encoder.matches("password123", argon2));
+        assertFalse(encoder.upgradeEncoding(argon2));
+    }
+
+    //Test #3
+    //Description: Raising the cost flags hashes made at the old cost; calibration never drops below the floor.
+    @Test
+    public void testUpgradeEncoding_lowerCostFlagged()
+    {
+        String weak = encoderFor(PasswordEncoderConfig.BCRYPT, 10, 0).encode("password123");
+        ((BoundedPasswordEncoder) encoder).shutdown();
+        encoderFor(PasswordEncoderConfig.BCRYPT, 11, 0);
+
+        assertTrue(encoder.matches("password123", weak));
+        assertTrue(encoder.upgradeEncoding(weak));
+        assertEquals(HashCostCalibrator.MIN_BCRYPT_STRENGTH, HashCostCalibrator.bcryptStrength(Duration.ofMillis(1)));
+    }
+}
+
+//***************************************************************************************
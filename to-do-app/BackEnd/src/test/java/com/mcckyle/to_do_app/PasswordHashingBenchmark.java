@@ -0,0 +1,86 @@
+//***************************************************************************************
+//
+//     Filename: PasswordHashingBenchmark.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file benchmarks each password hashing scheme and cost.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.security.HashCostCalibrator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+//***************************************************************************************
+
+/**
+ * JMH benchmark, skipped unless asked for:
+ * <pre>
+ * ./gradlew test --tests '*PasswordHashingBenchmark' -Dbenchmark=true [-Dbenchmark.forks=1]
+ * </pre>
+ * Times one sign-in check ({@code matches}) for each scheme and cost we would
+ * consider, at the production Argon2 memory size. Run it on the deployment
+ * hardware and compare with the cost {@code PasswordEncoderConfig} logs at startup
+ * for the same {@code app.security.hashing.target-latency}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class PasswordHashingBenchmark
+{
+    private static final int ARGON2_MEMORY_KIB = 19456;
+
+    @Param({"bcrypt-10", "bcrypt-11", "bcrypt-12", "bcrypt-13", "argon2-2", "argon2-3", "argon2-4", "argon2-6"})
+    public String scheme;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp()
+    {
+        String[] parts = scheme.split("-");
+        int cost = Integer.parseInt(parts[1]);
+
+        encoder = parts[0].equals("bcrypt")
+                ? new BCryptPasswordEncoder(cost)
+                : HashCostCalibrator.argon2(ARGON2_MEMORY_KIB, cost);
+        hash = encoder.encode("password123");
+    }
+
+    @Benchmark
+    public boolean matches()
+    {
+        return encoder.matches("password123", hash);
+    }
+
+    //Test #1
+    //Description: Runs the benchmark; the table JMH prints is the result.
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void testRunBenchmark() throws Exception
+    {
+        Options options = new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .forks(Integer.getInteger("benchmark.forks", 1))
+                .shouldFailOnError(true)
+                .build();
+
+        assertFalse(new Runner(options).run().isEmpty());
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,91 @@
+//***************************************************************************************
+//
+//     Filename: PasswordRehashTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides an integration test for upgrading stored hashes at sign-in.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Data.UserRepository;
+import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.Services.UserService;
+import com.mcckyle.to_do_app.payload.UserRegistrationDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//***************************************************************************************
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:password-rehash;DB_CLOSE_DELAY=-1",
+        "jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef0123456789",
+        "jwt.expirationMs=3600000",
+        "app.security.hashing.bcrypt.strength=5"
+})
+@AutoConfigureMockMvc
+public class PasswordRehashTest
+{
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String storedHash(Long userId)
+    {
+        return userRepository.findById(userId).orElseThrow().getPassword();
+    }
+
+    //Test #1
+    //Description: Signing in with a hash stored before the scheme prefix, at a lower cost,
+    //...replaces it with one at the configured cost and leaves existing sessions alone.
+    @Test
+    public void testSignIn_legacyHashReplaced() throws Exception
+    {
+        //Arrange.
+        User user = userService.registerUser(new UserRegistrationDTO("rehash", "rehash@example.com", "password123"));
+        String legacy = new BCryptPasswordEncoder(4).encode("password123");
+        transactionTemplate.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow().setPassword(legacy));
+        int tokenVersion = userRepository.findTokenVersionById(user.getId()).orElseThrow();
+
+        //Act.
+        mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"rehash@example.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk());
+
+        //Assert.
+        String upgraded = storedHash(user.getId());
+        assertNotEquals(legacy, upgraded);
+        assertTrue(upgraded.startsWith("{bcrypt}$2a$05$"), upgraded);
+        assertTrue(new BCryptPasswordEncoder().matches("password123", upgraded.substring("{bcrypt}".length())));
+        assertEquals(tokenVersion, userRepository.findTokenVersionById(user.getId()).orElseThrow());
+
+        //A second sign-in finds nothing to upgrade.
+        mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"rehash@example.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk());
+        assertEquals(upgraded, storedHash(user.getId()));
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,52 @@
+//***************************************************************************************
+//
+//     Filename: RoleAuthoritiesTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for the role mask mapping.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Models.UserRole;
+import com.mcckyle.to_do_app.security.RoleAuthorities;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//***************************************************************************************
+
+public class RoleAuthoritiesTest
+{
+    //Test #1
+    //Description: Role names round-trip through the mask, and unknown names grant nothing.
+    @Test
+    public void testMaskOf_namesToBits()
+    {
+        int mask = UserRole.maskOf(List.of("ROLE_ADMIN", "ROLE_USER", "ROLE_UNKNOWN"));
+
+        assertEquals(UserRole.ROLE_USER.bit() | UserRole.ROLE_ADMIN.bit(), mask);
+        assertEquals(Set.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")),
+                RoleAuthorities.forMask(mask));
+        assertTrue(RoleAuthorities.forMask(UserRole.maskOf(List.of("ROLE_UNKNOWN"))).isEmpty());
+    }
+
+    //Test #2
+    //Description: Every principal with the same roles shares one immutable set.
+    @Test
+    public void testForMask_sharedAndImmutable()
+    {
+        Set<GrantedAuthority> first = RoleAuthorities.forMask(UserRole.ROLE_USER.bit());
+
+        assertSame(first, RoleAuthorities.forMask(UserRole.ROLE_USER.bit()));
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        assertTrue(RoleAuthorities.forMask(-1).isEmpty());
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,177 @@
+//***************************************************************************************
+//
+//     Filename: SecondLevelCacheTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file checks that writes keep the second-level cache current.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Data.TaskListRepository;
+import com.mcckyle.to_do_app.Data.UserRepository;
+import com.mcckyle.to_do_app.Models.TaskList;
+import com.mcckyle.to_do_app.Models.ToDoObj;
+import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.Services.ToDoApplicationService;
+import com.mcckyle.to_do_app.Services.UserService;
+import com.mcckyle.to_do_app.cache.CacheRegions;
+import com.mcckyle.to_do_app.cache.SecondLevelCacheEndpoint;
+import com.mcckyle.to_do_app.payload.TaskUpdateRequest;
+import com.mcckyle.to_do_app.payload.UserRegistrationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//***************************************************************************************
+
+/**
+ * Every read below runs in its own transaction, so it can only be served from the
+ * second-level cache or the database, never from an earlier persistence context.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1",
+        "jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef0123456789",
+        "jwt.expirationMs=3600000",
+        "app.security.hashing.bcrypt.strength=4",
+        "management.endpoint.hibernatecache.access=read-only",
+        "management.endpoints.web.exposure.include=health,hibernatecache"
+})
+public class SecondLevelCacheTest
+{
+    @Autowired
+    private ToDoApplicationService toDoService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SecondLevelCacheEndpoint cacheEndpoint;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private TaskList list;
+
+    @BeforeEach
+    public void setUp()
+    {
+        String name = "cache" + UUID.randomUUID().toString().substring(0, 8);
+
+        user = userService.registerUser(new UserRegistrationDTO(name, name + "@example.com", "password123"));
+        list = toDoService.createTaskList(user, "Groceries");
+    }
+
+    private <T> T read(Function<TaskList, T> reader)
+    {
+        return transactionTemplate.execute(status -> reader.apply(taskListRepository.findById(list.getId()).orElseThrow()));
+    }
+
+    //Test #1
+    //Description: A second read of a list is a cache hit, and a rename through the service is seen by the next one.
+    @Test
+    public void testTaskList_renameInvalidates()
+    {
+        read(TaskList::getName);
+        long hits = cacheEndpoint.region(CacheRegions.TASK_LISTS).hits();
+
+        assertEquals("Groceries", read(TaskList::getName));
+        assertTrue(cacheEndpoint.region(CacheRegions.TASK_LISTS).hits() > hits);
+
+        TaskList renamed = toDoService.updateTaskList(list.getId(), "Errands", user);
+
+        assertEquals("Errands", read(TaskList::getName));
+        assertEquals(renamed.getVersion(), read(TaskList::getVersion));
+    }
+
+    //Test #2
+    //Description: The cached task ids and counters follow single, bulk and batch writes.
+    @Test
+    public void testTaskListTasks_writesInvalidate()
+    {
+        assertEquals(0, (int) read(l -> l.getTasks().size()));
+
+        ToDoObj milk = toDoService.createTask("Milk", list.getId(), user);
+        assertEquals(List.of("Milk"), read(l -> l.getTasks().stream().map(ToDoObj::getDescription).toList()));
+
+        toDoService.createTasks(List.of("Eggs", "Bread", "Butter"), list.getId(), user); //Plain JDBC.
+        assertEquals(4, (int) read(l -> l.getTasks().size()));
+        assertEquals(4, (int) read(TaskList::getTaskCount));
+
+        TaskUpdateRequest done = new TaskUpdateRequest();
+        done.setCompleted(true);
+        toDoService.updateTask(milk.getId(), done, null, user);
+        assertEquals(1, (int) read(TaskList::getCompletedCount));
+        assertTrue((boolean) read(l -> l.getTasks().stream().filter(t -> t.getId().equals(milk.getId())).findFirst().orElseThrow().getCompleted()));
+
+        toDoService.deleteTask(milk.getId(), user);
+        assertEquals(3, (int) read(l -> l.getTasks().size()));
+        assertEquals(3, (int) read(TaskList::getTaskCount));
+        assertEquals(0, (int) read(TaskList::getCompletedCount));
+    }
+
+    //Test #3
+    //Description: A profile change is seen by the next read of the user.
+    @Test
+    public void testUser_profileChangeInvalidates()
+    {
+        User loaded = transactionTemplate.execute(status -> userRepository.findById(user.getId()).orElseThrow());
+        loaded.setBio("Likes lists.");
+        userService.saveProfile(loaded);
+
+        assertEquals("Likes lists.", transactionTemplate.execute(status -> userRepository.findById(user.getId()).orElseThrow().getBio()));
+        assertTrue(cacheEndpoint.region(CacheRegions.USERS).puts() > 0);
+    }
+
+    //Test #4
+    //Description: Another user's writes leave this user's cached list and task ids in place.
+    @Test
+    public void testOtherUserWrites_keepHits()
+    {
+        toDoService.createTask("Milk", list.getId(), user);
+        read(l -> l.getTasks().size());
+        read(l -> l.getTasks().size()); //Now cached.
+
+        String name = "other" + UUID.randomUUID().toString().substring(0, 8);
+        User other = userService.registerUser(new UserRegistrationDTO(name, name + "@example.com", "password123"));
+        TaskList otherList = toDoService.createTaskList(other, "Chores");
+        ToDoObj dishes = toDoService.createTask("Dishes", otherList.getId(), other);
+        toDoService.createTasks(List.of("Laundry", "Vacuum", "Windows"), otherList.getId(), other);
+
+        TaskUpdateRequest done = new TaskUpdateRequest();
+        done.setCompleted(true);
+        toDoService.updateTask(dishes.getId(), done, null, other);
+        List<Long> otherTasks = transactionTemplate.execute(status ->
+                toDoService.getTasksForList(otherList.getId(), other).stream().map(ToDoObj::getId).toList());
+        toDoService.updateTasksCompleted(otherTasks.subList(0, 2), true, other);
+        toDoService.deleteTasks(otherTasks.subList(2, 4), other);
+        toDoService.deleteTask(dishes.getId(), other);
+
+        SecondLevelCacheEndpoint.RegionStatistics lists = cacheEndpoint.region(CacheRegions.TASK_LISTS);
+        SecondLevelCacheEndpoint.RegionStatistics tasks = cacheEndpoint.region(CacheRegions.TASK_LIST_TASKS);
+
+        assertEquals(1, (int) read(l -> l.getTasks().size()));
+        assertTrue(cacheEndpoint.region(CacheRegions.TASK_LISTS).hits() > lists.hits());
+        assertEquals(lists.misses(), cacheEndpoint.region(CacheRegions.TASK_LISTS).misses());
+        assertTrue(cacheEndpoint.region(CacheRegions.TASK_LIST_TASKS).hits() > tasks.hits());
+        assertEquals(tasks.misses(), cacheEndpoint.region(CacheRegions.TASK_LIST_TASKS).misses());
+        assertTrue(cacheEndpoint.region(CacheRegions.TASK_LISTS).entries() > 0);
+    }
+}
+
+//***************************************************************************************
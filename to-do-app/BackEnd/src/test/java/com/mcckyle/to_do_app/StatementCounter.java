@@ -0,0 +1,83 @@
+//***************************************************************************************
+//
+//     Filename: StatementCounter.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file counts the SQL statements a test sends, through Hibernate or JDBC.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//***************************************************************************************
+
+/**
+ * Hibernate's statistics only see Hibernate's statements. Imported into a test
+ * context, this wraps the DataSource and counts every statement prepared on its
+ * connections, plain JDBC included.
+ */
+public class StatementCounter implements BeanPostProcessor
+{
+    private final AtomicInteger statements = new AtomicInteger();
+
+    public int count()
+    {
+        return statements.get();
+    }
+
+    public void clear()
+    {
+        statements.set(0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName)
+    {
+        if (bean instanceof DataSource dataSource)
+        {
+            return proxy(DataSource.class, dataSource, (target, name, result) ->
+                    name.equals("getConnection") ? proxy(Connection.class, (Connection) result, this::countStatements) : result);
+        }
+
+        return bean;
+    }
+
+    private Object countStatements(Object target, String name, Object result)
+    {
+        if (name.startsWith("prepare") || name.equals("createStatement"))
+        {
+            statements.incrementAndGet();
+        }
+
+        return result;
+    }
+
+    private interface AfterCall
+    {
+        Object apply(Object target, String name, Object result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, AfterCall afterCall)
+    {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            try
+            {
+                return afterCall.apply(target, method.getName(), method.invoke(target, args));
+            }
+            catch (InvocationTargetException e)
+            {
+                throw e.getCause();
+            }
+        });
+    }
+}
+
+//***************************************************************************************
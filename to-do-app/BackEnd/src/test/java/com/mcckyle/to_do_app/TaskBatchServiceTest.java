@@ -0,0 +1,154 @@
+//***************************************************************************************
+//
+//     Filename: TaskBatchServiceTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file checks the statements and outcomes of the batch task writes.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Models.TaskList;
+import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.Services.ToDoApplicationService;
+import com.mcckyle.to_do_app.Services.ToDoService;
+import com.mcckyle.to_do_app.Services.UserService;
+import com.mcckyle.to_do_app.payload.TaskBatchResponse;
+import com.mcckyle.to_do_app.payload.TaskDTO;
+import com.mcckyle.to_do_app.payload.TaskListSummary;
+import com.mcckyle.to_do_app.payload.UserRegistrationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//***************************************************************************************
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-batch;DB_CLOSE_DELAY=-1",
+        "jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef0123456789",
+        "jwt.expirationMs=3600000",
+        "app.security.hashing.bcrypt.strength=4"
+})
+@Import(StatementCounter.class)
+public class TaskBatchServiceTest
+{
+    private static final Long MISSING_ID = Long.MAX_VALUE;
+
+    @Autowired
+    private ToDoApplicationService toDoApplicationService;
+
+    @Autowired
+    private ToDoService toDoService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private User owner;
+    private User other;
+    private TaskList list;
+    private List<Long> ownedIds;
+    private Long foreignId;
+
+    @BeforeEach
+    public void setUp()
+    {
+        owner = register("owner");
+        list = toDoApplicationService.createTaskList(owner, "Groceries");
+        List<String> descriptions = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++)
+        {
+            descriptions.add("Task " + i);
+        }
+
+        toDoApplicationService.createTasks(descriptions, list.getId(), owner);
+        ownedIds = toDoService.findSummariesByTaskList(list.getId()).stream().map(TaskDTO::getId).toList();
+
+        other = register("other");
+        TaskList otherList = toDoApplicationService.createTaskList(other, "Chores");
+        foreignId = toDoApplicationService.createTask("Dishes", otherList.getId(), other).getId();
+    }
+
+    private User register(String prefix)
+    {
+        String name = prefix + UUID.randomUUID().toString().substring(0, 8);
+        return userService.registerUser(new UserRegistrationDTO(name, name + "@example.com", "password123"));
+    }
+
+    private List<Long> requested(List<Long> owned)
+    {
+        List<Long> ids = new ArrayList<>(owned);
+        ids.add(foreignId);
+        ids.add(MISSING_ID);
+        return ids;
+    }
+
+    private static Map<Long, TaskBatchResponse.Status> statuses(TaskBatchResponse response)
+    {
+        return response.getResults().stream()
+                .collect(Collectors.toMap(TaskBatchResponse.Outcome::getId, TaskBatchResponse.Outcome::getStatus));
+    }
+
+    private TaskListSummary summary()
+    {
+        return toDoApplicationService.getTaskListCountSummariesForUser(owner).stream()
+                .filter(s -> s.getId().equals(list.getId())).findFirst().orElseThrow();
+    }
+
+    //Test #1
+    //Description: Completing 50 tasks is one id SELECT, one UPDATE and one recount, plus the change version bump.
+    @Test
+    public void testUpdateTasksCompleted_fixedStatements()
+    {
+        statementCounter.clear();
+        TaskBatchResponse response = toDoApplicationService.updateTasksCompleted(requested(ownedIds), true, owner);
+
+        assertEquals(5, statementCounter.count());
+        assertEquals(50, response.getAffected());
+
+        Map<Long, TaskBatchResponse.Status> statuses = statuses(response);
+        ownedIds.forEach(id -> assertEquals(TaskBatchResponse.Status.UPDATED, statuses.get(id)));
+        assertEquals(TaskBatchResponse.Status.NOT_FOUND, statuses.get(foreignId));
+        assertEquals(TaskBatchResponse.Status.NOT_FOUND, statuses.get(MISSING_ID));
+
+        assertEquals(50, summary().getCompletedCount());
+        assertFalse(toDoService.findOwnedSummary(foreignId, other.getId()).orElseThrow().isCompleted());
+    }
+
+    //Test #2
+    //Description: Deleting adds only the batched tombstone INSERT to those statements.
+    @Test
+    public void testDeleteTasks_fixedStatements()
+    {
+        List<Long> deleted = ownedIds.subList(0, 3);
+
+        statementCounter.clear();
+        TaskBatchResponse response = toDoApplicationService.deleteTasks(requested(deleted), owner);
+
+        assertEquals(6, statementCounter.count());
+        assertEquals(3, response.getAffected());
+
+        Map<Long, TaskBatchResponse.Status> statuses = statuses(response);
+        deleted.forEach(id -> assertEquals(TaskBatchResponse.Status.DELETED, statuses.get(id)));
+        assertEquals(TaskBatchResponse.Status.NOT_FOUND, statuses.get(foreignId));
+        assertEquals(TaskBatchResponse.Status.NOT_FOUND, statuses.get(MISSING_ID));
+
+        assertEquals(47, summary().getTaskCount());
+        assertTrue(toDoService.findOwnedSummary(foreignId, other.getId()).isPresent());
+    }
+}
+
+//***************************************************************************************
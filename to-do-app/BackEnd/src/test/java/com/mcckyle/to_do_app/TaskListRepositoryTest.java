@@ -0,0 +1,499 @@
+//***************************************************************************************
+//
+//     Filename: TaskListRepositoryTest.java
+//     Author: Kyle McColgan
+//     Date: 17 October 2026
+//     Description: This file checks the statement count of the task list fetch queries.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Data.TaskListCounterRepository;
+import com.mcckyle.to_do_app.Data.TaskListRepository;
+import com.mcckyle.to_do_app.Data.TombstoneRepository;
+import com.mcckyle.to_do_app.Data.ToDoBulkRepository;
+import com.mcckyle.to_do_app.Data.ToDoJdbcRepository;
+import com.mcckyle.to_do_app.Data.ToDoRepository;
+import com.mcckyle.to_do_app.Data.UserRepository;
+import com.mcckyle.to_do_app.Exceptions.BadRequestException;
+import com.mcckyle.to_do_app.Models.TaskList;
+import com.mcckyle.to_do_app.Models.Tombstone;
+import com.mcckyle.to_do_app.Models.ToDoObj;
+import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.payload.OwnedTask;
+import com.mcckyle.to_do_app.payload.TaskChange;
+import com.mcckyle.to_do_app.payload.TaskDTO;
+import com.mcckyle.to_do_app.payload.TaskListDTO;
+import com.mcckyle.to_do_app.payload.TaskListSummary;
+import com.mcckyle.to_do_app.payload.TaskQuery;
+import com.mcckyle.to_do_app.payload.TaskResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//***************************************************************************************
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ToDoBulkRepository.class, ToDoJdbcRepository.class, TaskListCounterRepository.class, StatementCounter.class})
+public class TaskListRepositoryTest
+{
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private ToDoRepository toDoRepository;
+
+    @Autowired
+    private ToDoBulkRepository toDoBulkRepository;
+
+    @Autowired
+    private ToDoJdbcRepository toDoJdbcRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskListCounterRepository counterRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp()
+    {
+        statistics = entityManagerFactory
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    private User persistUser(String name, int lists, int tasksPerList)
+    {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password123");
+        entityManager.persist(user);
+
+        for (int i = 0; i < lists; i++)
+        {
+            TaskList list = entityManager.persist(new TaskList("List " + i, user));
+
+            for (int j = 0; j < tasksPerList; j++)
+            {
+                ToDoObj task = new ToDoObj("Task " + j, false, LocalDateTime.now(), list);
+                task.setUser(user);
+                entityManager.persist(task);
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return user;
+    }
+
+    //Loads every list and touches every task, the way TaskListController.getAll does.
+    private long statementsToReadAll(User user, int expectedLists)
+    {
+        statistics.clear();
+
+        List<TaskList> lists = taskListRepository.findAllWithTasksByUserId(user.getId());
+        int tasks = lists.stream().mapToInt(list -> list.getTasks().size()).sum();
+
+        assertEquals(expectedLists, lists.size());
+        assertEquals(expectedLists * 3, tasks);
+
+        entityManager.clear();
+        return statistics.getPrepareStatementCount();
+    }
+
+    //Test #1
+    //Description: The number of statements does not grow with the number of lists.
+    @Test
+    public void testFindAllWithTasks_constantStatementCount()
+    {
+        User small = persistUser("small", 2, 3);
+        User large = persistUser("large", 40, 3);
+
+        long smallCount = statementsToReadAll(small, 2);
+        long largeCount = statementsToReadAll(large, 40);
+
+        assertTrue(smallCount > 0); //Statistics are actually being collected.
+        assertEquals(smallCount, largeCount);
+    }
+
+    //Test #2
+    //Description: Lists without tasks are still returned, and only once each.
+    @Test
+    public void testFindAllWithTasks_includesEmptyLists()
+    {
+        User user = persistUser("empty", 3, 0);
+
+        List<TaskList> lists = taskListRepository.findAllWithTasksByUserId(user.getId());
+
+        assertEquals(3, lists.size());
+        assertEquals(0, lists.get(0).getTasks().size());
+    }
+
+    //Test #3
+    //Description: The read-side projections return plain DTOs and manage no entities.
+    @Test
+    public void testSummaries_skipPersistenceContext()
+    {
+        User user = persistUser("summary", 2, 3);
+
+        List<TaskListDTO> lists = taskListRepository.findSummariesByUserId(user.getId());
+        List<TaskDTO> tasks = toDoRepository.findSummariesByUserId(user.getId());
+
+        assertEquals(2, lists.size());
+        assertEquals("List 0", lists.get(0).getName());
+        assertEquals(6, tasks.size());
+        assertEquals(lists.get(0).getId(), tasks.get(0).getTaskListId());
+        assertEquals(0, entityManager.getEntityManager()
+                .unwrap(SessionImplementor.class)
+                .getPersistenceContext()
+                .getNumberOfManagedEntities());
+    }
+
+    //Test #4
+    //Description: Keyset pages walk a list in id order and report when more remain.
+    @Test
+    public void testTaskSlice_keysetPaging()
+    {
+        User user = persistUser("pager", 1, 5);
+        Long listId = taskListRepository.findSummariesByUserId(user.getId()).get(0).getId();
+
+        Slice<TaskResponse> first = toDoRepository.findResponses(
+                new TaskQuery(listId, null, null, null, null, null), user.getId(), 3);
+        Long cursor = first.getContent().get(2).getId();
+        Slice<TaskResponse> second = toDoRepository.findResponses(
+                new TaskQuery(listId, null, null, null, null, String.valueOf(cursor)), user.getId(), 3);
+
+        assertEquals(3, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(2, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+        assertTrue(second.getContent().get(0).getId() > cursor);
+    }
+
+    //Test #5
+    //Description: Filters narrow the result and a non-id sort still pages by its own key.
+    @Test
+    public void testTaskQuery_filterAndSort()
+    {
+        User user = persistUser("sorter", 1, 0);
+        Long listId = taskListRepository.findSummariesByUserId(user.getId()).get(0).getId();
+        TaskList managed = entityManager.find(TaskList.class, listId);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        String[] names = { "delta", "alpha", "charlie", "bravo" };
+
+        for (int i = 0; i < names.length; i++)
+        {
+            ToDoObj task = new ToDoObj(names[i], (i % 2) == 0, start.plusDays(i), managed);
+            task.setUser(entityManager.find(User.class, user.getId()));
+            entityManager.persist(task);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TaskResponse> pending = toDoRepository.findResponses(
+                new TaskQuery(listId, false, null, null, null, null), user.getId(), null).getContent();
+        List<TaskResponse> window = toDoRepository.findResponses(
+                new TaskQuery(listId, null, start.plusDays(1), start.plusDays(3), TaskQuery.Sort.CREATED_AT, null), user.getId(), null).getContent();
+        TaskQuery byName = new TaskQuery(listId, null, null, null, TaskQuery.Sort.DESCRIPTION, null);
+        Slice<TaskResponse> firstByName = toDoRepository.findResponses(byName, user.getId(), 2);
+        Slice<TaskResponse> nextByName = toDoRepository.findResponses(
+                new TaskQuery(listId, null, null, null, TaskQuery.Sort.DESCRIPTION, byName.nextCursor(firstByName.getContent().get(1))), user.getId(), 2);
+
+        assertEquals(List.of("alpha", "bravo"), pending.stream().map(TaskResponse::getDescription).toList());
+        assertEquals(List.of("alpha", "charlie"), window.stream().map(TaskResponse::getDescription).toList());
+        assertEquals(List.of("alpha", "bravo"), firstByName.getContent().stream().map(TaskResponse::getDescription).toList());
+        assertEquals(List.of("charlie", "delta"), nextByName.getContent().stream().map(TaskResponse::getDescription).toList());
+        assertFalse(nextByName.hasNext());
+    }
+
+    //Test #6
+    //Description: A batch completion is one statement, and it never touches another user's tasks.
+    @Test
+    public void testBatchUpdate_singleOwnerScopedStatement()
+    {
+        User owner = persistUser("owner", 1, 50);
+        User other = persistUser("other", 1, 1);
+        List<Long> ids = toDoRepository.findResponses(new TaskQuery(
+                taskListRepository.findSummariesByUserId(owner.getId()).get(0).getId(), null, null, null, null, null),
+                owner.getId(), null).getContent().stream().map(TaskResponse::getId).toList();
+        Long foreignId = toDoRepository.findSummariesByUserId(other.getId()).get(0).getId();
+
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(foreignId);
+
+        statementCounter.clear();
+        int updated = toDoJdbcRepository.updateCompleted(requested, owner.getId(), true, 1L, LocalDateTime.now());
+
+        assertEquals(50, updated);
+        assertEquals(1, statementCounter.count());
+        assertEquals(List.of(foreignId), toDoRepository.findOwned(requested, other.getId()).stream().map(OwnedTask::id).toList());
+        assertFalse(toDoRepository.findSummariesByUserId(other.getId()).get(0).isCompleted());
+    }
+
+    //Test #7
+    //Description: A bulk insert spanning several JDBC batches writes every row to the right list and owner.
+    @Test
+    public void testBulkInsert_writesEveryRow()
+    {
+        User user = persistUser("bulk", 1, 0);
+        Long listId = taskListRepository.findSummariesByUserId(user.getId()).get(0).getId();
+        List<String> descriptions = new ArrayList<>();
+
+        for (int i = 0; i < 1200; i++)
+        {
+            descriptions.add("Bulk " + i);
+        }
+
+        List<Long> written = toDoBulkRepository.insertTasks(listId, user.getId(), descriptions, LocalDateTime.now(), 1L);
+        List<TaskResponse> tasks = toDoRepository.findResponses(
+                new TaskQuery(listId, false, null, null, null, null), user.getId(), null).getContent();
+
+        assertEquals(1200, written.size());
+        assertEquals(tasks.get(0).getId(), written.get(0));
+        assertEquals(1200, tasks.size());
+        assertEquals("Bulk 0", tasks.get(0).getDescription());
+        assertEquals("Bulk 1199", tasks.get(1199).getDescription());
+    }
+
+    //Test #8
+    //Description: Counters move by relative updates, survive a rename, and a recount rebuilds stale ones under a new change version.
+    @Test
+    public void testCounters_adjustRecountAndSummary()
+    {
+        User user = persistUser("counts", 1, 4); //Persisted directly, so the counters start at zero.
+        Long listId = taskListRepository.findSummariesByUserId(user.getId()).get(0).getId();
+        toDoJdbcRepository.updateCompleted(toDoRepository.findSummariesByTaskListId(listId).stream()
+                .limit(3).map(TaskDTO::getId).toList(), user.getId(), true, 1L, LocalDateTime.now());
+
+        assertEquals(1, counterRepository.recountByIdIn(List.of(listId), 1L));
+
+        counterRepository.adjustCounts(listId, 1, 0, 2L);
+        TaskList list = taskListRepository.findById(listId).orElseThrow();
+        list.setName("Renamed");
+        taskListRepository.save(list);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        TaskListSummary summary = taskListRepository.findCountSummariesByUserId(user.getId()).get(0);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("Renamed", summary.getName());
+        assertEquals(5, summary.getTaskCount());
+        assertEquals(3, summary.getCompletedCount());
+
+        long userVersion = userRepository.findChangeVersionById(user.getId()).orElseThrow();
+        assertEquals(1, taskListRepository.bumpOwnersOfStaleCounts());
+        assertEquals(1, taskListRepository.recountStale());
+        entityManager.clear();
+
+        assertEquals(4, taskListRepository.findCountSummariesByUserId(user.getId()).get(0).getTaskCount());
+        assertEquals(userVersion + 1, taskListRepository.findById(listId).orElseThrow().getChangeVersion());
+        assertEquals(0, taskListRepository.bumpOwnersOfStaleCounts()); //Nothing left to fix.
+    }
+
+    //Test #9
+    //Description: Delta sync returns only rows and tombstones newer than the cursor, and only the owner's.
+    @Test
+    public void testChangesSince_onlyNewerRowsOfOwner()
+    {
+        User user = persistUser("sync", 2, 3); //Everything starts at change version 0.
+        User other = persistUser("bystander", 1, 1);
+        List<TaskListDTO> lists = taskListRepository.findSummariesByUserId(user.getId());
+        List<Long> firstListTasks = toDoRepository.findIdsByTaskListId(lists.get(0).getId());
+
+        toDoJdbcRepository.updateCompleted(firstListTasks.subList(0, 2), user.getId(), true, 5L, LocalDateTime.now());
+        counterRepository.recountByIdIn(List.of(lists.get(0).getId()), 5L);
+        toDoJdbcRepository.updateCompleted(toDoRepository.findSummariesByUserId(other.getId())
+                .stream().map(TaskDTO::getId).toList(), other.getId(), true, 5L, LocalDateTime.now());
+        tombstoneRepository.save(new Tombstone(user.getId(), Tombstone.Kind.TASK, 42L, 6L, LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TaskChange> tasks = toDoRepository.findChangesSince(user.getId(), 4L);
+
+        assertEquals(2, tasks.size());
+        assertTrue(tasks.get(0).getCompleted());
+        assertEquals(lists.get(0).getId(), tasks.get(0).getTaskListId());
+        assertEquals(1, taskListRepository.findChangesSince(user.getId(), 4L).size());
+        assertEquals(2, taskListRepository.findChangesSince(user.getId(), -1L).size());
+        assertTrue(toDoRepository.findChangesSince(user.getId(), 5L).isEmpty());
+        assertEquals(List.of(42L), tombstoneRepository.findEntityIdsSince(user.getId(), Tombstone.Kind.TASK, 5L));
+        assertTrue(tombstoneRepository.findEntityIdsSince(user.getId(), Tombstone.Kind.LIST, 5L).isEmpty());
+    }
+
+    //Test #10
+    //Description: Two writers that read the same task version cannot both commit; the loser
+    //...re-reads and retries, and both edits survive.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) //Each writer needs its own, real transaction.
+    public void testVersion_concurrentWritersLoseNoUpdate() throws Exception
+    {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        User user = tx.execute(status -> persistUser("racer", 1, 1));
+        Long taskId = toDoRepository.findSummariesByUserId(user.getId()).get(0).getId();
+
+        CountDownLatch bothRead = new CountDownLatch(2);
+        ExecutorService writers = Executors.newFixedThreadPool(2);
+
+        try
+        {
+            //Both read version 0 before either writes.
+            Consumer<Consumer<ToDoObj>> write = edit -> tx.executeWithoutResult(status -> {
+                ToDoObj task = toDoRepository.findById(taskId).orElseThrow();
+                bothRead.countDown();
+
+                try
+                {
+                    bothRead.await(5, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                edit.accept(task);
+                toDoRepository.save(task); //Flushed on commit, where the loser's UPDATE matches no row.
+            });
+
+            Consumer<ToDoObj> rename = task -> task.setDescription("Renamed");
+            Consumer<ToDoObj> complete = task -> task.setCompleted(true);
+
+            Future<?> first = writers.submit(() -> write.accept(rename));
+            Future<?> second = writers.submit(() -> write.accept(complete));
+            Throwable renameFailure = outcome(first);
+            Throwable completeFailure = outcome(second);
+
+            //Exactly one writer wins.
+            assertTrue( (renameFailure == null) != (completeFailure == null) );
+            assertInstanceOf(ObjectOptimisticLockingFailureException.class,
+                    (renameFailure != null) ? renameFailure : completeFailure);
+
+            //The loser starts over from the winner's state.
+            tx.executeWithoutResult(status -> {
+                ToDoObj task = toDoRepository.findById(taskId).orElseThrow();
+                ((renameFailure != null) ? rename : complete).accept(task);
+            });
+
+            ToDoObj saved = toDoRepository.findById(taskId).orElseThrow();
+
+            assertEquals("Renamed", saved.getDescription());
+            assertTrue(saved.getCompleted());
+            assertEquals(2L, saved.getVersion());
+        }
+        finally
+        {
+            writers.shutdownNow();
+            tx.executeWithoutResult(status -> {
+                toDoRepository.deleteAll(toDoRepository.findAllById(toDoRepository.findIdsByTaskListId(
+                        taskListRepository.findSummariesByUserId(user.getId()).get(0).getId())));
+                taskListRepository.deleteAll(taskListRepository.findAllById(
+                        taskListRepository.findSummariesByUserId(user.getId()).stream().map(TaskListDTO::getId).toList()));
+                entityManager.getEntityManager().remove(entityManager.find(User.class, user.getId()));
+            });
+        }
+    }
+
+    private static Throwable outcome(Future<?> writer) throws InterruptedException
+    {
+        try
+        {
+            writer.get(10, TimeUnit.SECONDS);
+            return null;
+        }
+        catch (java.util.concurrent.ExecutionException e)
+        {
+            return e.getCause();
+        }
+        catch (java.util.concurrent.TimeoutException e)
+        {
+            throw new AssertionError("Writer did not finish.", e);
+        }
+    }
+
+    //Test #11
+    //Description: Paging by a sort key carries on after the cursor task is deleted, and a cursor from another sort is refused.
+    @Test
+    public void testTaskQuery_cursorTaskDeleted()
+    {
+        User user = persistUser("cursor", 1, 0);
+        Long listId = taskListRepository.findSummariesByUserId(user.getId()).get(0).getId();
+        TaskList managed = entityManager.find(TaskList.class, listId);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        for (String name : new String[] { "echo", "bravo", "delta", "alpha", "charlie" })
+        {
+            ToDoObj task = new ToDoObj(name, false, start, managed);
+            task.setUser(entityManager.find(User.class, user.getId()));
+            entityManager.persist(task);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        TaskQuery byName = new TaskQuery(listId, null, null, null, TaskQuery.Sort.DESCRIPTION, null);
+        Slice<TaskResponse> first = toDoRepository.findResponses(byName, user.getId(), 2);
+        TaskResponse last = first.getContent().get(1);
+        toDoJdbcRepository.delete(last.getId(), user.getId());
+
+        Slice<TaskResponse> next = toDoRepository.findResponses(
+                new TaskQuery(listId, null, null, null, TaskQuery.Sort.DESCRIPTION, byName.nextCursor(last)), user.getId(), 2);
+
+        assertEquals("bravo", last.getDescription());
+        assertEquals(List.of("charlie", "delta"), next.getContent().stream().map(TaskResponse::getDescription).toList());
+        assertTrue(next.hasNext());
+        assertThrows(BadRequestException.class,
+                () -> new TaskQuery(listId, null, null, null, TaskQuery.Sort.DESCRIPTION, String.valueOf(last.getId())));
+    }
+}
+
+//***************************************************************************************
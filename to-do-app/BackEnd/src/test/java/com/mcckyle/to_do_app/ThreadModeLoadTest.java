@@ -0,0 +1,258 @@
+//***************************************************************************************
+//
+//     Filename: ThreadModeLoadTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file benchmarks request handling on platform vs virtual threads.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//***************************************************************************************
+
+/**
+ * Load benchmark, skipped unless asked for:
+ * <pre>
+ * ./gradlew test --tests '*ThreadModeLoadTest' -Dloadtest=true [-Dloadtest.clients=1000] [-Dloadtest.seconds=30]
+ *     [-Dloadtest.datasource.url=jdbc:mariadb://... -Dloadtest.datasource.username=... -Dloadtest.datasource.password=...]
+ * </pre>
+ * Boots the application twice, on Tomcat's platform thread pool and then on virtual
+ * threads, and has the same number of closed-loop clients read one page of a task list
+ * as fast as they can. Prints throughput and latency percentiles for both. The in-memory
+ * H2 default answers in microseconds, so point it at MariaDB to see what blocking on the
+ * network does to each mode; both modes get the same connection pool size.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class ThreadModeLoadTest
+{
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1000);
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5));
+    private static final Duration MEASURED = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+    private static final int POOL_SIZE = Integer.getInteger("loadtest.pool-size", 50);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    //Test #1
+    //Description: Both modes serve the same load; the table is the result.
+    @Test
+    public void testCompareThreadModes() throws Exception
+    {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        System.out.println(String.format("%-10s %8s %10s %10s %8s %8s %8s", "mode", "clients", "requests", "req/s", "p50 ms", "p99 ms", "errors"));
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertTrue(platform.requests > 0);
+        assertTrue(virtual.requests > 0);
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception
+    {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(ToDoAppApplication.class)
+                .properties(properties(mode, virtualThreads))
+                .run())
+        {
+            String base = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+            String token = signUp(base, mode);
+            String listId = createList(base, token);
+
+            HttpRequest read = HttpRequest.newBuilder(URI.create(base + "/api/todos/" + listId + "?limit=50"))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+
+            drive(read, WARM_UP); //Let the JIT, the pools and the caches settle first.
+            return drive(read, MEASURED).named(mode);
+        }
+    }
+
+    //Every client sends its next request as soon as the last one answers, until time is up.
+    private Result drive(HttpRequest request, Duration duration) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<List<Long>> latencies = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch finished = new CountDownLatch(CLIENTS);
+
+        for (int i = 0; i < CLIENTS; i++)
+        {
+            List<Long> clientLatencies = new ArrayList<>();
+            latencies.add(clientLatencies);
+            send(request, deadline, clientLatencies, errors, finished);
+        }
+
+        finished.await(duration.toSeconds() + 120, TimeUnit.SECONDS);
+
+        long[] all = latencies.stream()
+                .flatMap(List::stream)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+
+        return new Result(all, errors.get(), duration);
+    }
+
+    private void send(HttpRequest request, long deadline, List<Long> latencies, AtomicLong errors, CountDownLatch finished)
+    {
+        if (System.nanoTime() >= deadline)
+        {
+            finished.countDown();
+            return;
+        }
+
+        long started = System.nanoTime();
+
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if ( (failure != null) || (response.statusCode() != 200) )
+            {
+                errors.incrementAndGet();
+            }
+            else
+            {
+                latencies.add(System.nanoTime() - started); //One client's callbacks never overlap.
+            }
+
+            send(request, deadline, latencies, errors, finished);
+        });
+    }
+
+    private String signUp(String base, String mode) throws Exception
+    {
+        String email = "load-" + mode + "@example.com";
+
+        post(base + "/api/auth/register", null,
+                "{\"username\":\"load" + mode + "\",\"email\":\"" + email + "\",\"password\":\"password123\"}");
+
+        Map<?, ?> signIn = objectMapper.readValue(post(base + "/api/auth/signin", null,
+                "{\"email\":\"" + email + "\",\"password\":\"password123\"}"), Map.class);
+
+        return (String) signIn.get("accessToken");
+    }
+
+    private String createList(String base, String token) throws Exception
+    {
+        Map<?, ?> list = objectMapper.readValue(post(base + "/api/todos/list", token, "{\"name\":\"Load\"}"), Map.class);
+        StringBuilder descriptions = new StringBuilder();
+
+        for (int i = 0; i < 200; i++)
+        {
+            descriptions.append(i == 0 ? "" : ",").append("\"Task ").append(i).append("\"");
+        }
+
+        post(base + "/api/todos/bulk", token,
+                "{\"taskListId\":" + list.get("id") + ",\"descriptions\":[" + descriptions + "]}");
+
+        return String.valueOf(list.get("id"));
+    }
+
+    private String post(String url, String token, String json) throws Exception
+    {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+
+        if (token != null)
+        {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertTrue(response.statusCode() < 300, url + " answered " + response.statusCode() + ": " + response.body());
+        return response.body();
+    }
+
+    private static Map<String, Object> properties(String mode, boolean virtualThreads)
+    {
+        Map<String, Object> properties = new HashMap<>();
+
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("spring.datasource.hikari.maximum-pool-size", POOL_SIZE);
+        properties.put("spring.datasource.url", System.getProperty("loadtest.datasource.url",
+                "jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1"));
+        properties.put("spring.datasource.username", System.getProperty("loadtest.datasource.username", "sa"));
+        properties.put("spring.datasource.password", System.getProperty("loadtest.datasource.password", ""));
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("jwt.secret", "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef0123456789");
+        properties.put("jwt.expirationMs", 3600000);
+
+        return properties;
+    }
+
+    private static final class Result
+    {
+        private final String mode;
+        private final long requests;
+        private final long errors;
+        private final double perSecond;
+        private final double p50Millis;
+        private final double p99Millis;
+
+        private Result(long[] sortedNanos, long errors, Duration duration)
+        {
+            this(null, sortedNanos.length, errors, sortedNanos.length / (double) duration.toSeconds(),
+                    percentile(sortedNanos, 0.50), percentile(sortedNanos, 0.99));
+        }
+
+        private Result(String mode, long requests, long errors, double perSecond, double p50Millis, double p99Millis)
+        {
+            this.mode = mode;
+            this.requests = requests;
+            this.errors = errors;
+            this.perSecond = perSecond;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+        }
+
+        private Result named(String mode)
+        {
+            return new Result(mode, requests, errors, perSecond, p50Millis, p99Millis);
+        }
+
+        private static double percentile(long[] sortedNanos, double fraction)
+        {
+            if (sortedNanos.length == 0)
+            {
+                return 0;
+            }
+
+            int index = (int) Math.ceil(fraction * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%-10s %8d %10d %10.0f %8.1f %8.1f %8d", mode, CLIENTS, requests, perSecond, p50Millis, p99Millis, errors);
+        }
+    }
+}
+
+//***************************************************************************************
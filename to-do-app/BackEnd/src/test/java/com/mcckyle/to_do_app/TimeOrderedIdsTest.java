@@ -0,0 +1,100 @@
+//***************************************************************************************
+//
+//     Filename: TimeOrderedIdsTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for the time-ordered id generator.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.ids.TimeOrderedIds;
+import org.junit.jupiter.api.Test;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//***************************************************************************************
+
+public class TimeOrderedIdsTest
+{
+    private static final long NOW = Instant.parse("2026-10-18T12:00:00Z").toEpochMilli();
+
+    //Test #1
+    //Description: Ids keep increasing when a millisecond's sequence runs out and when the clock steps back.
+    @Test
+    public void testNext_strictlyIncreasing()
+    {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIds ids = new TimeOrderedIds(3, clock::get);
+        long previous = ids.next();
+
+        for (int i = 0; i < 1000; i++)
+        {
+            if (i == 500)
+            {
+                clock.set(NOW - 10_000); //Clock stepped backwards.
+            }
+
+            long id = ids.next();
+            assertTrue(id > previous);
+            assertEquals(3, TimeOrderedIds.nodeOf(id));
+            previous = id;
+        }
+    }
+
+    //Test #2
+    //Description: Ids carry their creation time and stay exact as JavaScript numbers.
+    @Test
+    public void testNext_timestampAndRange()
+    {
+        long id = new TimeOrderedIds(15, () -> NOW).next();
+
+        assertEquals(Instant.ofEpochMilli(NOW), TimeOrderedIds.timestampOf(id));
+        assertTrue(id < (1L << 53));
+        assertTrue(TimeOrderedIds.timestampOf((1L << 53) - 1).getEpochSecond() > Instant.parse("2090-01-01T00:00:00Z").getEpochSecond());
+    }
+
+    //Test #3
+    //Description: Concurrent callers never receive the same id.
+    @Test
+    public void testNext_uniqueAcrossThreads() throws InterruptedException
+    {
+        TimeOrderedIds ids = new TimeOrderedIds(0, System::currentTimeMillis);
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++)
+        {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++)
+                {
+                    seen.add(ids.next());
+                }
+            });
+        }
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(80_000, seen.size());
+    }
+
+    //Test #4
+    //Description: Node ids outside the four available bits are rejected.
+    @Test
+    public void testConstructor_invalidNode()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(16, System::currentTimeMillis));
+    }
+}
+
+//***************************************************************************************
@@ -9,26 +9,42 @@
 
 package com.mcckyle.to_do_app;
 
+import com.mcckyle.to_do_app.Exceptions.BadRequestException;
+import com.mcckyle.to_do_app.Exceptions.PreconditionFailedException;
 import com.mcckyle.to_do_app.Exceptions.TaskListNotFoundException;
 import com.mcckyle.to_do_app.Models.TaskList;
+import com.mcckyle.to_do_app.Models.ToDoObj;
 import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.Services.ChangeVersionRegistry;
 import com.mcckyle.to_do_app.Services.ToDoApplicationService;
 import com.mcckyle.to_do_app.Services.TaskListService;
+import com.mcckyle.to_do_app.Services.ToDoService;
+import com.mcckyle.to_do_app.Services.TombstoneService;
 import com.mcckyle.to_do_app.Services.UserService;
+import com.mcckyle.to_do_app.payload.ChangeEvent;
+import com.mcckyle.to_do_app.payload.TaskDTO;
+import com.mcckyle.to_do_app.payload.TaskUpdateRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 //***************************************************************************************
@@ -46,6 +62,18 @@ public class ToDoApplicationServiceTest
     @Mock
     private UserService userService;
 
+    @Mock
+    private ToDoService toDoService;
+
+    @Mock
+    private TombstoneService tombstoneService;
+
+    @Mock
+    private ChangeVersionRegistry changeVersions;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private ToDoApplicationService toDoApplicationService;
 
@@ -57,12 +85,12 @@ public class ToDoApplicationServiceTest
     {
         // Create a test user
         testUser = new User();
-        testUser.setId(1);
+        testUser.setId(1L);
         testUser.setUsername("testuser");
 
         // Create a test task list
         testTaskList = new TaskList();
-        testTaskList.setId(1);
+        testTaskList.setId(1L);
         testTaskList.setName("Test Task List");
         testTaskList.setUser(testUser);
     }
@@ -75,12 +103,12 @@ public class ToDoApplicationServiceTest
         TaskList updatedTaskList = new TaskList();
         updatedTaskList.setName("Updated Task List");
 
-        when(taskListService.findById(1)).thenReturn(Optional.of(testTaskList));
+        when(taskListService.findOwnedById(1L, 1L)).thenReturn(Optional.of(testTaskList));
         when(taskListService.save(any()))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         //Act.
-        TaskList result = toDoApplicationService.updateTaskList(1, "Updated", testUser);
+        TaskList result = toDoApplicationService.updateTaskList(1L, "Updated", testUser);
 
         //Assert.
         assertEquals("Updated", result.getName());
@@ -93,20 +121,22 @@ public class ToDoApplicationServiceTest
     {
         //Arrange.
         User otherUser = new User();
-        otherUser.setId(2);
-        when(taskListService.findById(1)).thenReturn(Optional.of(testTaskList));
+        otherUser.setId(2L);
         testTaskList.setUser(otherUser); //Set the task list's owner to someone else.
 
+        //The owner-scoped lookup finds nothing for testUser.
+        when(taskListService.findOwnedById(1L, 1L)).thenReturn(Optional.empty());
+
         //Create a TaskList with a non-null name to avoid NullPointerException.
         TaskList taskListToUpdate = new TaskList();
         taskListToUpdate.setName("Updated Task List");
 
-        //Act & Assert (testUser is not the owner).
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            toDoApplicationService.updateTaskList(1, "Updated Task List", testUser);
+        //Act & Assert (testUser is not the owner, which is reported as not found).
+        TaskListNotFoundException exception = assertThrows(TaskListNotFoundException.class, () -> {
+            toDoApplicationService.updateTaskList(1L, "Updated Task List", testUser);
         });
 
-        assertEquals("Unauthorized access!", exception.getMessage());
+        assertEquals("Task list with ID 1 not found.", exception.getMessage());
         verify(taskListService, never()).save(any(TaskList.class));  //Ensure save is not called.
     }
 
@@ -119,11 +149,11 @@ public class ToDoApplicationServiceTest
         updatedTaskList.setName("Valid Name");
 
         //Simulate task list not found.
-        when(taskListService.findById(1)).thenReturn(Optional.empty());
+        when(taskListService.findOwnedById(1L, 1L)).thenReturn(Optional.empty());
 
         TaskListNotFoundException exception = assertThrows(
                 TaskListNotFoundException.class,
-                () -> toDoApplicationService.updateTaskList(1, "Updated", testUser)
+                () -> toDoApplicationService.updateTaskList(1L, "Updated", testUser)
         );
 
         //Ensure save is not called.
@@ -153,20 +183,20 @@ public class ToDoApplicationServiceTest
     {
         //Arrange.
         User anotherUser = new User();
-        anotherUser.setId(3);
+        anotherUser.setId(3L);
         anotherUser.setUsername("anotheruser");
 
         //Simulate that the task list belongs to another user.
         testTaskList.setUser(anotherUser);
 
-        when(taskListService.findById(1)).thenReturn(Optional.of(testTaskList));
+        when(taskListService.findOwnedById(1L, 1L)).thenReturn(Optional.empty());
 
         //Act & Assert.
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            toDoApplicationService.updateTaskList(1, "Updated", testUser);
+        TaskListNotFoundException exception = assertThrows(TaskListNotFoundException.class, () -> {
+            toDoApplicationService.updateTaskList(1L, "Updated", testUser);
         });
 
-        assertEquals("Unauthorized access!", exception.getMessage());
+        assertEquals("Task list with ID 1 not found.", exception.getMessage());
         verify(taskListService, never()).save(any(TaskList.class));
     }
 
@@ -181,11 +211,11 @@ public class ToDoApplicationServiceTest
         TaskList updatedTaskList = new TaskList();
         updatedTaskList.setName("Updated Task List");
 
-        when(taskListService.findById(1)).thenReturn(Optional.of(testTaskList));
+        when(taskListService.findOwnedById(1L, 1L)).thenReturn(Optional.of(testTaskList));
         when(taskListService.save(any(TaskList.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         //Act.
-        TaskList result = toDoApplicationService.updateTaskList(1, "Updated", testUser);
+        TaskList result = toDoApplicationService.updateTaskList(1L, "Updated", testUser);
 
         //Assert.
         assertNotNull(result);
@@ -263,7 +293,7 @@ public class ToDoApplicationServiceTest
 
         //Act & Assert.
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            toDoApplicationService.updateTaskList(1, longName, testUser);
+            toDoApplicationService.updateTaskList(1L, longName, testUser);
         });
 
         assertEquals("Task list name is too long!", exception.getMessage());
@@ -283,7 +313,7 @@ public class ToDoApplicationServiceTest
 
         //Act & Assert.
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            toDoApplicationService.updateTaskList(1, "Updated Task List", null);
+            toDoApplicationService.updateTaskList(1L, "Updated Task List", null);
         });
 
         assertEquals("Invalid user!", exception.getMessage());
@@ -327,7 +357,7 @@ public class ToDoApplicationServiceTest
 
         //Act & Assert.
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            toDoApplicationService.updateTaskList(1, "Updated Task List", emptyUser);
+            toDoApplicationService.updateTaskList(1L, "Updated Task List", emptyUser);
         });
 
         assertEquals("Invalid user!", exception.getMessage());
@@ -345,11 +375,11 @@ public class ToDoApplicationServiceTest
         TaskList updatedTaskList = new TaskList();
         updatedTaskList.setName("Updated Task List");
 
-        when(taskListService.findById(1)).thenReturn(Optional.of(testTaskList));
+        when(taskListService.findOwnedById(1L, 1L)).thenReturn(Optional.of(testTaskList));
         when(taskListService.save(any(TaskList.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         //Act.
-        TaskList result = toDoApplicationService.updateTaskList(1, "Updated Task List", testUser);
+        TaskList result = toDoApplicationService.updateTaskList(1L, "Updated Task List", testUser);
 
         //Assert.
         assertNotNull(result);
@@ -361,6 +391,14 @@ public class ToDoApplicationServiceTest
         verify(taskListService).save(captor.capture());
         TaskList capturedTaskList = captor.getValue();
         assertEquals(testUser, capturedTaskList.getUser());
+
+        //The change moves the user's ETag on, and is pushed to their open streams.
+        verify(changeVersions).bump(1L);
+
+        ArgumentCaptor<ChangeEvent> eventCaptor = ArgumentCaptor.forClass(ChangeEvent.class);
+        verify(events).publishEvent(eventCaptor.capture());
+        assertEquals(ChangeEvent.Kind.LIST, eventCaptor.getValue().getKind());
+        assertEquals(java.util.List.of(1L), eventCaptor.getValue().getIds());
     }
 
     //Test #14
@@ -372,7 +410,7 @@ public class ToDoApplicationServiceTest
         TaskList updatedTaskList = new TaskList();
         updatedTaskList.setName("Updated Task List");
 
-        when(taskListService.findById(1)).thenReturn(Optional.of(testTaskList));
+        when(taskListService.findOwnedById(1L, 1L)).thenReturn(Optional.of(testTaskList));
 
         //Simulate unsupported operation exception.
         when(taskListService.save(any(TaskList.class)))
@@ -380,12 +418,14 @@ public class ToDoApplicationServiceTest
 
         //Act & Assert.
         UnsupportedOperationException exception = assertThrows(UnsupportedOperationException.class, () -> {
-            toDoApplicationService.updateTaskList(1, "Updated Task List", testUser);
+            toDoApplicationService.updateTaskList(1L, "Updated Task List", testUser);
         });
 
         assertEquals("Operation not supported", exception.getMessage());
         verify(taskListService, times(1)).save(any(TaskList.class));
+        verify(events, never()).publishEvent(any(ChangeEvent.class));
     }
+
     //Test #15
     //Description: Test for task list update on a soft-deleted task list.
 //    @Test
@@ -412,6 +452,85 @@ public class ToDoApplicationServiceTest
 //        assertEquals("Task list has been deleted and cannot be updated.", exception.getMessage());
 //        verify(taskListService, never()).saveTaskList(any(TaskList.class));  // Ensure save is not called
 //    }
+
+    //Test #16
+    //Description: An If-Match that no longer matches the list's version is refused before anything is written.
+    @Test
+    public void testUpdateTaskList_staleVersionRejected()
+    {
+        //Arrange.
+        when(taskListService.findOwnedById(1L, 1L)).thenReturn(Optional.of(testTaskList)); //Never saved, so no version.
+
+        //Act & Assert.
+        assertThrows(PreconditionFailedException.class,
+                () -> toDoApplicationService.updateTaskList(1L, "Updated Task List", 3L, testUser));
+
+        verify(changeVersions, never()).bump(any());
+        verify(taskListService, never()).save(any(TaskList.class));
+    }
+
+    //Test #17
+    //Description: Bad client input is reported as a BadRequestException (400); a missing user is not.
+    @Test
+    public void testBadRequest_onlyForClientInput()
+    {
+        //Act & Assert.
+        assertThrows(BadRequestException.class,
+                () -> toDoApplicationService.deleteTasks(List.of(), testUser));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> toDoApplicationService.deleteTasks(List.of(1L), null));
+        assertFalse(exception instanceof BadRequestException);
+        verify(changeVersions, never()).bump(any());
+    }
+
+    //Test #18
+    //Description: An edit that also sets the flag moves the list counter only when its conditional UPDATE flipped the row.
+    @Test
+    public void testUpdateTask_counterFollowsFlip()
+    {
+        //Arrange.
+        ToDoObj task = new ToDoObj("Milk", false, LocalDateTime.now(), testTaskList);
+        TaskUpdateRequest request = new TaskUpdateRequest();
+        request.setDescription("Oat milk");
+        request.setCompleted(true);
+
+        when(toDoService.findOwnedById(5L, 1L)).thenReturn(Optional.of(task));
+        when(toDoService.save(task)).thenReturn(task);
+        when(changeVersions.bump(1L)).thenReturn(7L, 8L);
+        when(toDoService.flipCompleted(5L, 1L, true)).thenReturn(0, 1);
+
+        //Act: a concurrent writer already completed it, then a real flip.
+        toDoApplicationService.updateTask(5L, request, null, testUser);
+        verify(taskListService, never()).adjustCounts(anyLong(), anyInt(), anyInt(), anyLong());
+
+        toDoApplicationService.updateTask(5L, request, null, testUser);
+
+        //Assert.
+        verify(taskListService).adjustCounts(1L, 0, 1, 8L);
+        assertEquals("Oat milk", task.getDescription());
+    }
+
+    //Test #19
+    //Description: A delete takes the completed delta from the task as read locked after the version bump.
+    @Test
+    public void testDeleteTask_counterFollowsLockedRow()
+    {
+        //Arrange: a toggle committed since the task was last seen incomplete.
+        when(changeVersions.bump(1L)).thenReturn(9L);
+        when(toDoService.lockOwnedSummary(5L, 1L)).thenReturn(Optional.of(new TaskDTO(5L, null, true, 1L, 2L)));
+        when(toDoService.deleteOwned(5L, 1L, 1L)).thenReturn(1);
+
+        //Act.
+        toDoApplicationService.deleteTask(5L, testUser);
+
+        //Assert.
+        InOrder order = inOrder(changeVersions, toDoService);
+        order.verify(changeVersions).bump(1L);
+        order.verify(toDoService).lockOwnedSummary(5L, 1L);
+        verify(taskListService).adjustCounts(1L, -1, -1, 9L);
+        verify(toDoService, never()).findOwnedSummary(any(), any());
+    }
 }
 
 //***************************************************************************************
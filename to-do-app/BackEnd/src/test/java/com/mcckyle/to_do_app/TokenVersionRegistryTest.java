@@ -0,0 +1,113 @@
+//***************************************************************************************
+//
+//     Filename: TokenVersionRegistryTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for the in-memory token versions.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Data.UserRepository;
+import com.mcckyle.to_do_app.security.TokenVersionRegistry;
+import com.mcckyle.to_do_app.threads.LoadingCaches;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+//***************************************************************************************
+
+@ExtendWith(MockitoExtension.class)
+public class TokenVersionRegistryTest
+{
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private TokenVersionRegistry tokenVersions;
+
+    @BeforeEach
+    public void setUp()
+    {
+        tokenVersions = new TokenVersionRegistry(userRepository, new LoadingCaches(Runnable::run, false), 100,
+                Duration.ofSeconds(30), nanos::get);
+    }
+
+    //Test #1
+    //Description: A user's version is read from the database once, then from memory.
+    @Test
+    public void testIsCurrent_loadsOnce()
+    {
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(3));
+
+        assertTrue(tokenVersions.isCurrent(7L, 3));
+        assertFalse(tokenVersions.isCurrent(7L, 2));
+        verify(userRepository, times(1)).findTokenVersionById(7L);
+    }
+
+    //Test #2
+    //Description: A password change retires older tokens without touching the database.
+    @Test
+    public void testUpdate_retiresOlderVersions()
+    {
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(3));
+        tokenVersions.current(7L);
+
+        tokenVersions.update(7L, 4);
+
+        assertFalse(tokenVersions.isCurrent(7L, 3));
+        assertTrue(tokenVersions.isCurrent(7L, 4));
+        verify(userRepository, times(1)).findTokenVersionById(7L);
+    }
+
+    //Test #3
+    //Description: A revoked user has no current version at all.
+    @Test
+    public void testRevoke_rejectsEveryVersion()
+    {
+        tokenVersions.revoke(7L);
+
+        assertEquals(TokenVersionRegistry.REVOKED, tokenVersions.current(7L));
+        assertFalse(tokenVersions.isCurrent(7L, 0));
+        verifyNoInteractions(userRepository);
+    }
+
+    //Test #4
+    //Description: Tokens for a user who no longer exists are revoked.
+    @Test
+    public void testCurrent_unknownUserRevoked()
+    {
+        when(userRepository.findTokenVersionById(8L)).thenReturn(Optional.empty());
+
+        assertEquals(TokenVersionRegistry.REVOKED, tokenVersions.current(8L));
+        assertFalse(tokenVersions.isCurrent(8L, 0));
+    }
+
+    //Test #5
+    //Description: A change made by another instance is seen once the entry expires.
+    @Test
+    public void testCurrent_reloadsAfterTtl()
+    {
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(3), Optional.of(4));
+        assertTrue(tokenVersions.isCurrent(7L, 3));
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertFalse(tokenVersions.isCurrent(7L, 3));
+        assertTrue(tokenVersions.isCurrent(7L, 4));
+        verify(userRepository, times(2)).findTokenVersionById(7L);
+    }
+}
+
+//***************************************************************************************
@@ -0,0 +1,123 @@
+//***************************************************************************************
+//
+//     Filename: UserDetailsServiceImplTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for the cached principal lookups.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Data.UserJdbcRepository;
+import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.Services.UserRetrievalHelper;
+import com.mcckyle.to_do_app.cache.SecondLevelCacheEvictor;
+import com.mcckyle.to_do_app.security.UserDetailsImpl;
+import com.mcckyle.to_do_app.security.UserDetailsServiceImpl;
+import com.mcckyle.to_do_app.threads.LoadingCaches;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+//***************************************************************************************
+
+@ExtendWith(MockitoExtension.class)
+public class UserDetailsServiceImplTest
+{
+    @Mock
+    private UserRetrievalHelper userRetrievalHelper;
+
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
+    @Mock
+    private SecondLevelCacheEvictor cacheEvictor;
+
+    private UserDetailsServiceImpl userDetailsService;
+    private User user;
+
+    @BeforeEach
+    public void setUp()
+    {
+        userDetailsService = new UserDetailsServiceImpl(userRetrievalHelper, userJdbcRepository, cacheEvictor, new SimpleMeterRegistry(),
+                new LoadingCaches(Runnable::run, false), 100, Duration.ofMinutes(5));
+
+        user = new User("testuser", "test@example.com", "hash");
+        user.setId(7L);
+    }
+
+    //Test #1
+    //Description: Repeat requests for one user are served from memory.
+    @Test
+    public void testLoadUserById_cached()
+    {
+        when(userRetrievalHelper.loadUserById(7L)).thenReturn(user);
+
+        UserDetailsImpl first = (UserDetailsImpl) userDetailsService.loadUserById(7L);
+
+        assertSame(first, userDetailsService.loadUserById(7L));
+        verify(userRetrievalHelper, times(1)).loadUserById(7L);
+    }
+
+    //Test #2
+    //Description: Sign-in by email finds the principal a request by id already built.
+    @Test
+    public void testLoadUserByUsername_sharesPrincipalWithId()
+    {
+        when(userRetrievalHelper.loadUserById(7L)).thenReturn(user);
+
+        UserDetailsImpl byId = (UserDetailsImpl) userDetailsService.loadUserById(7L);
+
+        assertSame(byId, userDetailsService.loadUserByUsername("test@example.com"));
+        verify(userRetrievalHelper, never()).findByEmail(anyString());
+    }
+
+    //Test #3
+    //Description: After an eviction both lookups read the user again.
+    @Test
+    public void testEvictUser_reloadsBothWays()
+    {
+        when(userRetrievalHelper.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userRetrievalHelper.loadUserById(7L)).thenReturn(user);
+
+        userDetailsService.loadUserByUsername("test@example.com");
+        userDetailsService.evictUser(7L);
+        userDetailsService.loadUserByUsername("test@example.com");
+        userDetailsService.evictUser(7L);
+        userDetailsService.loadUserById(7L);
+
+        verify(userRetrievalHelper, times(2)).findByEmail("test@example.com");
+        verify(userRetrievalHelper, times(1)).loadUserById(7L);
+    }
+
+    //Test #4
+    //Description: A changed email stops the old one from signing in, even though its index entry is still there.
+    @Test
+    public void testEvictUser_oldEmailNotServed()
+    {
+        when(userRetrievalHelper.loadUserById(7L)).thenReturn(user);
+        userDetailsService.loadUserById(7L);
+
+        user.setEmail("new@example.com");
+        userDetailsService.evictUser(7L);
+
+        assertEquals("new@example.com", ((UserDetailsImpl) userDetailsService.loadUserById(7L)).getEmail());
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("test@example.com"));
+        verify(userRetrievalHelper).findByEmail("test@example.com");
+    }
+}
+
+//***************************************************************************************
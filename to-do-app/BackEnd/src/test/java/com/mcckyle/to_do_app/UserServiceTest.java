@@ -0,0 +1,127 @@
+//***************************************************************************************
+//
+//     Filename: UserServiceTest.java
+//     Author: Kyle McColgan
+//     Date: 18 October 2026
+//     Description: This file provides a unit test suite for user registration.
+//
+//***************************************************************************************
+
+package com.mcckyle.to_do_app;
+
+import com.mcckyle.to_do_app.Data.RoleRepository;
+import com.mcckyle.to_do_app.Data.UserRepository;
+import com.mcckyle.to_do_app.Models.User;
+import com.mcckyle.to_do_app.Services.UserRetrievalHelper;
+import com.mcckyle.to_do_app.Services.UserService;
+import com.mcckyle.to_do_app.payload.UserRegistrationDTO;
+import com.mcckyle.to_do_app.security.TokenVersionRegistry;
+import com.mcckyle.to_do_app.security.UserDetailsServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+//***************************************************************************************
+
+@ExtendWith(MockitoExtension.class)
+public class UserServiceTest
+{
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TokenVersionRegistry tokenVersions;
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private UserRetrievalHelper userRetrievalHelper;
+
+    @InjectMocks
+    private UserService userService;
+
+    private UserRegistrationDTO registration;
+
+    @BeforeEach
+    public void setUp()
+    {
+        registration = new UserRegistrationDTO("testuser", "test@example.com", "password123");
+    }
+
+    private void stubInsert()
+    {
+        when(passwordEncoder.encode("password123")).thenReturn("{bcrypt}hash");
+        when(userRetrievalHelper.isMaskRoles()).thenReturn(true);
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName)
+    {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("violation", new SQLException("violation"), constraintName));
+    }
+
+    //Test #1
+    //Description: A taken username or email is turned away before the password is hashed.
+    @Test
+    public void testRegisterUser_duplicateNeverHashed()
+    {
+        when(userRepository.existsByUsername("testuser")).thenReturn(false);
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> userService.registerUser(registration));
+
+        assertEquals("Error: Email is already in use!", exception.getMessage());
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    //Test #2
+    //Description: A sign-up that loses the race to the unique key gets the same message as the pre-check.
+    @Test
+    public void testRegisterUser_raceCaughtByUniqueKey()
+    {
+        when(userRepository.existsByUsername("testuser")).thenReturn(false);
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
+        stubInsert();
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violation(User.USERNAME_UNIQUE_KEY.toUpperCase()));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> userService.registerUser(registration));
+
+        assertEquals("Error: Username is already taken!", exception.getMessage());
+    }
+
+    //Test #3
+    //Description: Any other integrity violation is passed on unchanged, not reported as a duplicate.
+    @Test
+    public void testRegisterUser_otherViolationRethrown()
+    {
+        DataIntegrityViolationException tooLong = violation(null);
+        when(userRepository.existsByUsername("testuser")).thenReturn(false);
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
+        stubInsert();
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(tooLong);
+
+        assertSame(tooLong, assertThrows(DataIntegrityViolationException.class, () -> userService.registerUser(registration)));
+    }
+}
+
+//***************************************************************************************